@@ -0,0 +1,65 @@
+package org.ha.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Identifies a cached response: the route, the path, the query with parameters sorted by
+ * name and value, whether the client accepts gzip (upstreams vary on Accept-Encoding), and
+ * for authorized requests the caller's principal, so their responses are never shared
+ * between users.
+ */
+public record CacheKey(String routeId, String path, String query, boolean gzip, String principal) {
+
+    /**
+     * @param principal name of the authenticated caller, null for anonymous requests
+     */
+    public static CacheKey of(String routeId, ServerHttpRequest request, String principal) {
+        String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return new CacheKey(
+                routeId,
+                request.getPath().pathWithinApplication().value(),
+                normalizeQuery(request.getQueryParams()),
+                acceptEncoding != null && acceptEncoding.contains("gzip"),
+                principal);
+    }
+
+    /**
+     * Whether a write to {@code writtenPath} may have changed this response: it is the
+     * written resource, one below it, or a collection above it.
+     */
+    boolean isAffectedBy(String writtenPath) {
+        return path.equals(writtenPath)
+                || path.startsWith(writtenPath.endsWith("/") ? writtenPath : writtenPath + '/')
+                || writtenPath.startsWith(path.endsWith("/") ? path : path + '/');
+    }
+
+    // ?b=2&a=1&a=0 and ?a=0&a=1&b=2 share an entry
+    static String normalizeQuery(MultiValueMap<String, String> params) {
+        if (params.isEmpty()) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        new TreeMap<>(params).forEach((name, values) -> {
+            List<String> sorted = new ArrayList<>(values);
+            sorted.replaceAll(value -> value == null ? "" : value);
+            sorted.sort(null);
+            for (String value : sorted) {
+                if (!query.isEmpty()) {
+                    query.append('&');
+                }
+                query.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        });
+        return query.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package org.ha.apigateway.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A stored upstream response. The body lives in a pooled direct (off-heap) buffer owned by
+ * the cache; readers take a retained duplicate and the cache releases its reference when
+ * the entry is evicted, so the memory is freed once the last in-flight write finishes.
+ */
+public record CachedResponse(
+        HttpStatusCode status,
+        HttpHeaders headers,
+        ByteBuf body,
+        String eTag,
+        long lastModified,
+        long storedAt,
+        long expiresAt
+) {
+
+    public int weight() {
+        int[] headerBytes = {0};
+        headers.forEach((name, values) -> {
+            headerBytes[0] += name.length();
+            values.forEach(value -> headerBytes[0] += value.length());
+        });
+        return body.readableBytes() + headerBytes[0];
+    }
+
+    /**
+     * Body for one response write, or null when the entry was released by an eviction
+     * that raced with this read.
+     */
+    public ByteBuf retainedBody() {
+        try {
+            return body.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            return null;
+        }
+    }
+
+    void release() {
+        if (body.refCnt() > 0) {
+            body.release();
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package org.ha.apigateway.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code ResponseCache} route filter: serves repeated GET requests from {@link ResponseCacheStore}.
+ * Only 200 responses without {@code no-store}, {@code no-cache}, {@code private} or cookies are
+ * stored, for their {@code s-maxage}/{@code max-age} or the route's time-to-live. Cached
+ * {@code ETag}/{@code Last-Modified} validators answer conditional requests with 304; the
+ * upstream call that fills the cache is sent without them, so it always returns the full body.
+ *
+ * <p>Requests carrying {@code Authorization} are cached per principal with {@code cache-authorized},
+ * or shared between all callers with {@code shared-across-principals}.</p>
+ *
+ * <p>Concurrent misses for one key wait for the first request's upstream call and get its
+ * response even when it is not stored, e.g. an error or a {@code no-cache} response; only
+ * responses that must not be shared ({@code private}, {@code no-store}, cookies) or that are
+ * too large send the waiting requests upstream. A successful write drops the cached
+ * responses at the written path, below it and above it.</p>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Connection-level headers and headers that describe a single response are never stored
+    private static final Set<String> UNSTORED_HEADERS = caseInsensitiveSet(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE,
+            HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.DATE, HttpHeaders.AGE, CACHE_STATUS_HEADER);
+
+    // Validators the gateway evaluates itself against the full upstream response
+    private static final List<String> VALIDATOR_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    // Requests whose response depends on these headers bypass the cache
+    private static final List<String> BYPASS_HEADERS = List.of(
+            HttpHeaders.RANGE, HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE);
+
+    private static final int INITIAL_BODY_CAPACITY = 8192;
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> filter(exchange, chain, config);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                return chain.filter(exchange);
+            }
+            // A successful write makes the cached responses of the resource and its collections stale
+            String path = request.getPath().pathWithinApplication().value();
+            return chain.filter(exchange).doOnSuccess(ignored -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    store.invalidatePath(routeId, path);
+                }
+            });
+        }
+
+        Map<String, String> requestDirectives = directives(request.getHeaders());
+        if (requestDirectives.containsKey("no-store") || containsAny(request.getHeaders(), BYPASS_HEADERS)) {
+            return chain.filter(exchange);
+        }
+        // Anonymous responses, and all responses of routes whose upstream ignores the caller, are shared
+        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION) || config.isSharedAcrossPrincipals()) {
+            return serve(exchange, chain, config, CacheKey.of(routeId, request, null), requestDirectives);
+        }
+        if (!config.isCacheAuthorized()) {
+            return chain.filter(exchange);
+        }
+        // Authorized responses may depend on the caller, so they are only reused for the same principal
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .defaultIfEmpty("")
+                .flatMap(principal -> principal.isEmpty()
+                        ? chain.filter(exchange)
+                        : serve(exchange, chain, config, CacheKey.of(routeId, request, principal), requestDirectives));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                             CacheKey key, Map<String, String> requestDirectives) {
+        // no-cache and max-age=0 skip the stored copy; the fresh response is stored for others
+        if (requestDirectives.containsKey("no-cache") || "0".equals(requestDirectives.get("max-age"))) {
+            return fetch(exchange, chain, config, key, null);
+        }
+
+        CachedResponse cached = store.get(key);
+        if (cached != null) {
+            Mono<Void> hit = writeCached(exchange, cached, "HIT");
+            if (hit != null) {
+                return hit;
+            }
+        }
+
+        CompletableFuture<CachedResponse> upstreamCall = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> pending = store.joinInFlight(key, upstreamCall);
+        if (pending == null) {
+            return fetch(exchange, chain, config, key, upstreamCall);
+        }
+
+        // Another request is fetching this key; reuse its response, or go upstream if it could not be shared
+        return Mono.fromFuture(pending, true)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(response -> {
+                    Mono<Void> hit = response.map(shared -> writeCached(exchange, shared, "COALESCED")).orElse(null);
+                    return hit != null ? hit : chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                             CacheKey key, CompletableFuture<CachedResponse> inFlight) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        ResponseCapture capture = new ResponseCapture(key, config, response.getHeaders(), inFlight != null);
+        response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                ServerHttpResponse delegate = getDelegate();
+                boolean capturing = capture.start(delegate);
+                Flux<? extends DataBuffer> upstreamBody = capturing
+                        ? Flux.from(body).doOnNext(capture::append).doOnComplete(capture::complete)
+                        : Flux.from(body);
+                if (!isNotModified(request.getHeaders(), delegate)) {
+                    return super.writeWith(upstreamBody);
+                }
+                // The body is still read to fill the cache, but the client already has it
+                return upstreamBody
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> notModified(delegate)));
+            }
+        };
+
+        // The client's validators are answered here; the cached copy must be a full response
+        ServerHttpRequest upstreamRequest = !containsAny(request.getHeaders(), VALIDATOR_HEADERS) ? request
+                : request.mutate().headers(headers -> VALIDATOR_HEADERS.forEach(headers::remove)).build();
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(decorated).build())
+                .doFinally(signal -> {
+                    CachedResponse captured = capture.finish();
+                    if (inFlight != null) {
+                        store.completeInFlight(key, inFlight, captured);
+                    }
+                    // Waiters took their copies while the fetch completed; late ones find it released
+                    capture.releaseShared();
+                });
+    }
+
+    // Null when the entry was released by a concurrent eviction
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ByteBuf body = cached.retainedBody();
+        if (body == null) {
+            return null;
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        headers.set(HttpHeaders.AGE, String.valueOf((System.currentTimeMillis() - cached.storedAt()) / 1000));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (isNotModified(exchange.getRequest().getHeaders(), cached.status(), cached.eTag(), cached.lastModified())) {
+            body.release();
+            return notModified(response);
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(body.readableBytes());
+        return response.writeWith(Mono.just(wrap(response.bufferFactory(), body)));
+    }
+
+    private static DataBuffer wrap(DataBufferFactory bufferFactory, ByteBuf body) {
+        if (bufferFactory instanceof NettyDataBufferFactory nettyBufferFactory) {
+            return nettyBufferFactory.wrap(body);
+        }
+        try {
+            return bufferFactory.wrap(ByteBufUtil.getBytes(body));
+        } finally {
+            body.release();
+        }
+    }
+
+    private static Mono<Void> notModified(ServerHttpResponse response) {
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        return response.setComplete();
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        return isNotModified(requestHeaders, response.getStatusCode(), headers.getETag(), headers.getLastModified());
+    }
+
+    // Only a 200 response can be replaced by 304
+    private static boolean isNotModified(HttpHeaders requestHeaders, HttpStatusCode status,
+                                         String responseETag, long lastModified) {
+        if (status == null || status.value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            if (responseETag == null) {
+                return false;
+            }
+            String eTag = opaqueTag(responseETag);
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate.trim()) || eTag.equals(opaqueTag(candidate))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean containsAny(HttpHeaders headers, List<String> names) {
+        for (String name : names) {
+            if (headers.containsKey(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Weak comparison, as required for If-None-Match
+    private static String opaqueTag(String eTag) {
+        String trimmed = eTag.trim();
+        return trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed;
+    }
+
+    // Millis the response may be served from the cache, 0 when it must not be stored
+    private static long freshnessLifetime(HttpHeaders headers, Config config) {
+        Map<String, String> directives = directives(headers);
+        if (directives.containsKey("no-store") || directives.containsKey("no-cache")
+                || directives.containsKey("private")) {
+            return 0;
+        }
+        String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+        if (maxAge == null) {
+            return config.getTimeToLive().toMillis();
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(maxAge)).toMillis();
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Responses may only vary by encoding, which is part of the cache key
+    private static boolean isVaryAllowed(HttpHeaders headers) {
+        for (String vary : headers.getVary()) {
+            if (!HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(vary.trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Map<String, String> directives(HttpHeaders headers) {
+        List<String> values = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (values == null || values.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                int separator = directive.indexOf('=');
+                String name = (separator < 0 ? directive : directive.substring(0, separator))
+                        .trim().toLowerCase(Locale.ROOT);
+                String argument = separator < 0 ? "" : directive.substring(separator + 1).trim().replace("\"", "");
+                if (!name.isEmpty()) {
+                    directives.put(name, argument);
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static Set<String> caseInsensitiveSet(String... values) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(values));
+        return set;
+    }
+
+    /**
+     * Copies one upstream response into an off-heap buffer while it streams to the client.
+     * The copy is stored when the response is cacheable; otherwise it is only handed to the
+     * requests waiting for this fetch and released afterwards.
+     */
+    private final class ResponseCapture {
+
+        private final CacheKey key;
+        private final Config config;
+        private final boolean hasWaiters;
+        // Headers set by the gateway before routing, e.g. CORS and rate limit headers
+        private final Set<String> gatewayHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        private ByteBuf body;
+        private HttpStatusCode status;
+        private HttpHeaders headers;
+        private boolean storable;
+        private long expiresAt;
+        private CachedResponse stored;
+        private CachedResponse shared;
+        private boolean finished;
+
+        ResponseCapture(CacheKey key, Config config, HttpHeaders responseHeaders, boolean hasWaiters) {
+            this.key = key;
+            this.config = config;
+            this.hasWaiters = hasWaiters;
+            this.gatewayHeaders.addAll(responseHeaders.keySet());
+        }
+
+        synchronized boolean start(ServerHttpResponse response) {
+            HttpStatusCode responseStatus = response.getStatusCode();
+            HttpHeaders responseHeaders = response.getHeaders();
+            long contentLength = responseHeaders.getContentLength();
+            // A 304 only makes sense to the request that carried the validators
+            if (finished || responseStatus == null || responseStatus.value() == HttpStatus.NOT_MODIFIED.value()
+                    || contentLength > store.getMaxEntrySize()
+                    || responseHeaders.containsKey(HttpHeaders.SET_COOKIE) || !isVaryAllowed(responseHeaders)) {
+                return false;
+            }
+            Map<String, String> directives = directives(responseHeaders);
+            if (directives.containsKey("private") || directives.containsKey("no-store")) {
+                return false;
+            }
+            long lifetime = freshnessLifetime(responseHeaders, config);
+            storable = responseStatus.value() == HttpStatus.OK.value() && lifetime > 0;
+            if (!storable && !hasWaiters) {
+                return false;
+            }
+
+            HttpHeaders copy = new HttpHeaders();
+            responseHeaders.forEach((name, values) -> {
+                if (!gatewayHeaders.contains(name) && !UNSTORED_HEADERS.contains(name)) {
+                    copy.addAll(name, values);
+                }
+            });
+            status = responseStatus;
+            headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            expiresAt = System.currentTimeMillis() + lifetime;
+            int maxCapacity = (int) store.getMaxEntrySize();
+            int initialCapacity = contentLength >= 0 ? (int) contentLength : Math.min(INITIAL_BODY_CAPACITY, maxCapacity);
+            body = PooledByteBufAllocator.DEFAULT.directBuffer(initialCapacity, maxCapacity);
+            return true;
+        }
+
+        synchronized void append(DataBuffer buffer) {
+            if (body == null) {
+                return;
+            }
+            if (body.readableBytes() + buffer.readableByteCount() > body.maxCapacity()) {
+                // Too large to cache; the response still streams to the client
+                body.release();
+                body = null;
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    body.writeBytes(iterator.next());
+                }
+            }
+        }
+
+        synchronized void complete() {
+            if (body == null || finished) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            CachedResponse captured = new CachedResponse(status, headers, body, headers.getETag(),
+                    headers.getLastModified(), now, storable ? expiresAt : now);
+            body = null;
+            if (storable) {
+                // The cache owns the buffer from here on
+                stored = captured;
+                store.put(key, stored);
+            } else {
+                shared = captured;
+            }
+        }
+
+        synchronized CachedResponse finish() {
+            finished = true;
+            if (body != null) {
+                body.release();
+                body = null;
+            }
+            return stored != null ? stored : shared;
+        }
+
+        synchronized void releaseShared() {
+            if (shared != null) {
+                shared.release();
+                shared = null;
+            }
+        }
+    }
+
+    @Data
+    public static class Config {
+
+        // Lifetime of responses that state none with max-age or s-maxage
+        private Duration timeToLive = Duration.ofSeconds(30);
+
+        // Also cache requests carrying Authorization, keyed by the authenticated principal
+        private boolean cacheAuthorized = false;
+
+        // Share one entry between all callers; only for upstreams whose responses never depend
+        // on the caller, e.g. on the X-USER-* headers. Authentication is still enforced first.
+        private boolean sharedAcrossPrincipals = false;
+    }
+}
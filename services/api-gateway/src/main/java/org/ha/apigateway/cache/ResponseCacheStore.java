@@ -0,0 +1,85 @@
+package org.ha.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gateway response cache, bounded by the total size of stored bodies and headers, with
+ * each entry expiring at its own freshness lifetime. Also tracks the upstream requests in
+ * flight per key, so concurrent misses for one key wait for a single upstream call.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private final Cache<CacheKey, CachedResponse> entries;
+    private final ConcurrentMap<CacheKey, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Getter
+    private final long maxEntrySize;
+
+    public ResponseCacheStore(@Value("${app.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${app.response-cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((CacheKey key, CachedResponse response) -> response.weight())
+                .expireAfter(Expiry.writing((CacheKey key, CachedResponse response) ->
+                        Duration.ofMillis(Math.max(0, response.expiresAt() - System.currentTimeMillis()))))
+                // Frees the off-heap body once in-flight writes holding a duplicate are done
+                .removalListener((CacheKey key, CachedResponse response, RemovalCause cause) -> {
+                    if (response != null) {
+                        response.release();
+                    }
+                })
+                .build();
+    }
+
+    public CachedResponse get(CacheKey key) {
+        CachedResponse response = entries.getIfPresent(key);
+        return response != null && response.expiresAt() > System.currentTimeMillis() ? response : null;
+    }
+
+    public void put(CacheKey key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Registers the caller as the one fetching {@code key} from upstream.
+     *
+     * @return null when the caller should fetch, otherwise the pending fetch of another request
+     */
+    public CompletableFuture<CachedResponse> joinInFlight(CacheKey key, CompletableFuture<CachedResponse> fetch) {
+        return inFlight.putIfAbsent(key, fetch);
+    }
+
+    /**
+     * Ends a fetch started with {@link #joinInFlight}; waiting requests get the response, which
+     * is not necessarily stored, or null when the upstream response could not be shared.
+     */
+    public void completeInFlight(CacheKey key, CompletableFuture<CachedResponse> fetch, CachedResponse response) {
+        inFlight.remove(key, fetch);
+        fetch.complete(response);
+    }
+
+    /**
+     * Drops the responses of a route that a write to {@code path} may have changed.
+     */
+    public void invalidatePath(String routeId, String path) {
+        entries.asMap().keySet().removeIf(key -> key.routeId().equals(routeId) && key.isAffectedBy(path));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+}
@@ -0,0 +1,150 @@
+package org.ha.apigateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Caches decoded tokens in front of a signature-verifying decoder, so a token is verified
+ * once and later requests carrying it are served from memory until it expires, or for at
+ * most {@code maximumTimeToLive}. The cap bounds how long a token keeps being accepted after
+ * the delegate would start rejecting it when no revocation path calls {@link #invalidate}
+ * or {@link #invalidateAll}. Entries are keyed by the SHA-256 of the token, never by the
+ * token itself.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    // Reused per thread; JWTs are plain ASCII, so chars map to bytes one to one
+    private static final ThreadLocal<DigestBuffers> DIGEST_BUFFERS = ThreadLocal.withInitial(DigestBuffers::new);
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<TokenKey, Jwt> cache;
+    // Keyed by Jwt identity; entries go away once the decoded token is no longer referenced
+    private final Cache<Jwt, UserHeaders> userHeaders = Caffeine.newBuilder().weakKeys().build();
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize, Duration maximumTimeToLive) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((TokenKey key, Jwt jwt) -> timeToLive(jwt, maximumTimeToLive)))
+                .build();
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        TokenKey key = TokenKey.of(token);
+        if (key == null) {
+            return delegate.decode(token);
+        }
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.decode(token).doOnNext(jwt -> {
+            // Tokens without an expiry are verified on every request
+            if (jwt.getExpiresAt() != null) {
+                cache.put(key, jwt);
+            }
+        });
+    }
+
+    /**
+     * Drops a revoked token, so its next use is verified again by the delegate.
+     */
+    public void invalidate(String token) {
+        TokenKey key = TokenKey.of(token);
+        if (key != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops every cached token, e.g. after the signing key is rotated.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * User headers of a decoded token, derived on first use and shared by every request
+     * that presents the same cached token.
+     */
+    public UserHeaders userHeaders(Jwt jwt) {
+        return userHeaders.get(jwt, UserHeaders::of);
+    }
+
+    private static Duration timeToLive(Jwt jwt, Duration maximumTimeToLive) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return Duration.ZERO;
+        }
+        Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+        return untilExpiry.compareTo(maximumTimeToLive) < 0 ? untilExpiry : maximumTimeToLive;
+    }
+
+    record TokenKey(long first, long second, long third, long fourth) {
+
+        // Null for tokens that are not plain ASCII; those are never cached
+        static TokenKey of(String token) {
+            byte[] hash = DIGEST_BUFFERS.get().digest(token);
+            if (hash == null) {
+                return null;
+            }
+            return new TokenKey(readLong(hash, 0), readLong(hash, 8), readLong(hash, 16), readLong(hash, 24));
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+
+    private static final class DigestBuffers {
+
+        private final MessageDigest sha256;
+        private final byte[] hash = new byte[32];
+        private byte[] input = new byte[1024];
+
+        DigestBuffers() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        byte[] digest(String token) {
+            int length = token.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            sha256.update(input, 0, length);
+            try {
+                sha256.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Failed to hash token", e);
+            }
+            return hash;
+        }
+    }
+}
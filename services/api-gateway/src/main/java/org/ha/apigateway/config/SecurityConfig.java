@@ -19,6 +19,7 @@ import org.springframework.security.web.server.authorization.ServerAccessDeniedH
 import reactor.core.publisher.Mono;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,12 @@ public class SecurityConfig {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.cache-size:10000}")
+    private long jwtCacheSize;
+
+    @Value("${jwt.cache-max-ttl:5m}")
+    private Duration jwtCacheMaxTtl;
+
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
         return http
@@ -49,12 +56,19 @@ public class SecurityConfig {
                 .build();
     }
 
+    // Verified tokens are cached until they expire or for jwt.cache-max-ttl, whichever comes first
     @Bean
-    public ReactiveJwtDecoder customJwtDecoder() {
+    public CachingReactiveJwtDecoder cachingJwtDecoder() {
         SecretKeySpec secretKey = new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA256");
         NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withSecretKey(secretKey)
                 .macAlgorithm(MacAlgorithm.HS256)
                 .build();
+        return new CachingReactiveJwtDecoder(decoder, jwtCacheSize, jwtCacheMaxTtl);
+    }
+
+    @Bean
+    public ReactiveJwtDecoder customJwtDecoder() {
+        CachingReactiveJwtDecoder decoder = cachingJwtDecoder();
 
         // Wrap decoder to throw custom exceptions
         return token -> decoder.decode(token)
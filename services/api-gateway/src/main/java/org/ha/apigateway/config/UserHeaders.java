@@ -0,0 +1,37 @@
+package org.ha.apigateway.config;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * User headers forwarded to downstream services, derived once per decoded token.
+ *
+ * @param userId value of {@code X-USER-ID}, null when the token has no userId claim
+ * @param roles  value of {@code X-USER-ROLES}, comma separated
+ */
+public record UserHeaders(String userId, String roles) {
+
+    public static final String USER_ID = "X-USER-ID";
+    public static final String USER_ROLES = "X-USER-ROLES";
+
+    public static UserHeaders of(Jwt jwt) {
+        Object userId = jwt.getClaims().get("userId");
+        Object rolesClaim = jwt.getClaims().get("roles");
+
+        String roles = "";
+        if (rolesClaim instanceof List<?> list) {
+            StringBuilder joined = new StringBuilder();
+            for (Object role : list) {
+                if (!joined.isEmpty()) {
+                    joined.append(',');
+                }
+                joined.append(role);
+            }
+            roles = joined.toString();
+        } else if (rolesClaim instanceof String value) {
+            roles = value;
+        }
+        return new UserHeaders(userId != null ? userId.toString() : null, roles);
+    }
+}
@@ -1,60 +1,77 @@
 package org.ha.apigateway.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Component
+@RequiredArgsConstructor
 public class UserInfoHeaderFilter implements GlobalFilter, Ordered {
 
+    private final CachingReactiveJwtDecoder jwtDecoder;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // The fallback for unauthenticated requests is only built when there is no context
         return ReactiveSecurityContextHolder.getContext()
-                .map(SecurityContext::getAuthentication)
-                .flatMap(authentication -> {
-                    if (authentication instanceof JwtAuthenticationToken) {
-                        Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
-                        String userId = jwt.getClaims().get("userId").toString();
-                        Object rolesClaim = jwt.getClaims().get("roles");
-
-                        String roles = "";
-                        if (rolesClaim instanceof List) {
-                            roles = ((List<?>) rolesClaim).stream()
-                                    .map(Object::toString)
-                                    .collect(Collectors.joining(","));
-                        } else if (rolesClaim instanceof String) {
-                            roles = (String) rolesClaim;
-                        }
-
-                        // Mutate the request to add headers
-                        ServerWebExchange mutatedExchange = exchange.mutate()
-                                .request(exchange.getRequest().mutate()
-                                        .header("X-USER-ID", userId)
-                                        .header("X-USER-ROLES", roles)
-                                        .build())
-                                .build();
-
-                        return chain.filter(mutatedExchange);
-                    } else {
-                        // If not authenticated, proceed without headers
-                        return chain.filter(exchange);
-                    }
-                })
-                .switchIfEmpty(chain.filter(exchange));
+                .mapNotNull(SecurityContext::getAuthentication)
+                .map(authentication -> withUserHeaders(exchange, authentication))
+                .switchIfEmpty(Mono.fromSupplier(() -> withoutUserHeaders(exchange)))
+                .flatMap(chain::filter);
+    }
+
+    private ServerWebExchange withUserHeaders(ServerWebExchange exchange, Authentication authentication) {
+        if (!(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            return withoutUserHeaders(exchange);
+        }
+
+        // Derived once per token and reused from the decoder's cache
+        UserHeaders userHeaders = jwtDecoder.userHeaders(jwtAuthentication.getToken());
+
+        // Mutate the request to add headers, replacing any values sent by the client
+        return exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .headers(headers -> setUserHeaders(headers, userHeaders))
+                        .build())
+                .build();
+    }
+
+    // Clients must not be able to pass their own user headers to downstream services
+    private static ServerWebExchange withoutUserHeaders(ServerWebExchange exchange) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        if (!requestHeaders.containsKey(UserHeaders.USER_ID) && !requestHeaders.containsKey(UserHeaders.USER_ROLES)) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(exchange.getRequest().mutate()
+                        .headers(headers -> {
+                            headers.remove(UserHeaders.USER_ID);
+                            headers.remove(UserHeaders.USER_ROLES);
+                        })
+                        .build())
+                .build();
+    }
+
+    private static void setUserHeaders(HttpHeaders headers, UserHeaders userHeaders) {
+        if (userHeaders.userId() != null) {
+            headers.set(UserHeaders.USER_ID, userHeaders.userId());
+        } else {
+            headers.remove(UserHeaders.USER_ID);
+        }
+        headers.set(UserHeaders.USER_ROLES, userHeaders.roles());
     }
 
     @Override
     public int getOrder() {
         return Ordered.LOWEST_PRECEDENCE; // Run after other filters
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package org.ha.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets. Each bucket is a single {@link AtomicLong} holding the time at
+ * which it will be full again (the GCRA form of a token bucket), updated with a CAS loop,
+ * so concurrent requests never lock. Idle buckets are dropped: a bucket left alone for
+ * longer than its refill time is full, which is exactly what a new bucket starts as.
+ */
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    public LocalTokenBucketStore(long maximumBuckets, Duration idleTimeout) {
+        this(maximumBuckets, idleTimeout, System::nanoTime);
+    }
+
+    LocalTokenBucketStore(long maximumBuckets, Duration idleTimeout, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryConsume(String key, TokenBucketRateLimiter.Config config) {
+        return Mono.just(consume(key, config));
+    }
+
+    public RateLimitDecision consume(String key, TokenBucketRateLimiter.Config config) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(nanoTime.getAsLong()));
+        long tokenNanos = config.tokenNanos();
+        long capacityNanos = config.getBurstCapacity() * tokenNanos;
+        long costNanos = config.getRequestedTokens() * tokenNanos;
+
+        while (true) {
+            long current = fullAt.get();
+            long now = nanoTime.getAsLong();
+            long next = Math.max(current, now) + costNanos;
+            long used = next - now;
+            if (used > capacityNanos) {
+                long available = capacityNanos - Math.max(0, current - now);
+                return new RateLimitDecision(false, available / tokenNanos, used - capacityNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new RateLimitDecision(true, (capacityNanos - used) / tokenNanos, 0);
+            }
+        }
+    }
+}
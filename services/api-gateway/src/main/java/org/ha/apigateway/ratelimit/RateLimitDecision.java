@@ -0,0 +1,11 @@
+package org.ha.apigateway.ratelimit;
+
+/**
+ * Outcome of taking tokens from a bucket.
+ *
+ * @param allowed         whether the tokens were taken
+ * @param remaining       whole tokens left in the bucket
+ * @param retryAfterNanos time until enough tokens are available, 0 when allowed
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterNanos) {
+}
@@ -0,0 +1,113 @@
+package org.ha.apigateway.ratelimit;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter for the {@code RequestRateLimiter} route filter. Buckets are
+ * kept per route and per key from {@link UserOrIpKeyResolver}. Rejected requests get a
+ * {@code Retry-After} header with the seconds until enough tokens are available.
+ */
+@Slf4j
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final LocalTokenBucketStore localStore;
+    private final TokenBucketStore sharedStore;
+    private final Config defaultConfig = new Config();
+
+    public TokenBucketRateLimiter(ConfigurationService configurationService,
+                                  ObjectProvider<TokenBucketStore> sharedStore,
+                                  @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                                  @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this(configurationService, new LocalTokenBucketStore(maxBuckets, idleTimeout), sharedStore.getIfAvailable());
+    }
+
+    TokenBucketRateLimiter(ConfigurationService configurationService,
+                           LocalTokenBucketStore localStore,
+                           TokenBucketStore sharedStore) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.localStore = localStore;
+        this.sharedStore = sharedStore;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        if (config.getRequestedTokens() > config.getBurstCapacity()) {
+            return Mono.error(new IllegalStateException("Rate limit of route " + routeId
+                    + " requests more tokens than its burst capacity"));
+        }
+        String key = routeId + '|' + id;
+
+        Mono<RateLimitDecision> decision;
+        if (sharedStore == null) {
+            decision = Mono.just(localStore.consume(key, config));
+        } else {
+            // Keep limiting on this instance alone while the shared backend is unavailable
+            decision = sharedStore.tryConsume(key, config)
+                    .onErrorResume(e -> {
+                        log.warn("Shared rate limit store failed, using local buckets: {}", e.getMessage());
+                        return Mono.fromSupplier(() -> localStore.consume(key, config));
+                    });
+        }
+        return decision.map(result -> new Response(result.allowed(), headers(config, result)));
+    }
+
+    private static Map<String, String> headers(Config config, RateLimitDecision decision) {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        if (!decision.allowed()) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999));
+            headers.put(RETRY_AFTER_HEADER, String.valueOf(seconds));
+        }
+        return headers;
+    }
+
+    /**
+     * Per-route bucket settings, bound from the {@code token-bucket-rate-limiter.*} filter args.
+     */
+    @Data
+    @Validated
+    public static class Config {
+
+        // Tokens added per second
+        @Min(1)
+        @Max(1_000_000)
+        private int replenishRate = 10;
+
+        // Tokens the bucket holds when full, i.e. the largest burst allowed
+        @Min(1)
+        private long burstCapacity = 20;
+
+        // Tokens taken by each request
+        @Min(1)
+        private int requestedTokens = 1;
+
+        long tokenNanos() {
+            return TimeUnit.SECONDS.toNanos(1) / replenishRate;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.ha.apigateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds the token buckets of the rate limiter. The gateway keeps buckets in memory by
+ * default; registering a bean of this type (e.g. backed by Redis) shares them between
+ * gateway instances instead.
+ */
+public interface TokenBucketStore {
+
+    Mono<RateLimitDecision> tryConsume(String key, TokenBucketRateLimiter.Config config);
+}
@@ -0,0 +1,59 @@
+package org.ha.apigateway.ratelimit;
+
+import org.ha.apigateway.config.CachingReactiveJwtDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate limit key: the user id of an authenticated request, otherwise the client IP.
+ * The user id comes from the verified token rather than the {@code X-USER-ID} request
+ * header, which clients could set themselves. Behind proxies the client IP is read from
+ * {@code X-Forwarded-For}, trusting only the entries appended by
+ * {@code app.rate-limit.trusted-proxies} hops; with no trusted hops the header is ignored.
+ */
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    private final CachingReactiveJwtDecoder jwtDecoder;
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public UserOrIpKeyResolver(CachingReactiveJwtDecoder jwtDecoder,
+                               @Value("${app.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this.jwtDecoder = jwtDecoder;
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .flatMap(authentication -> Mono.justOrEmpty(
+                        jwtDecoder.userHeaders(((JwtAuthenticationToken) authentication).getToken()).userId()))
+                .map(userId -> "user:" + userId)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientIp(exchange)));
+    }
+
+    private String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = remoteAddressResolver.resolve(exchange);
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+}
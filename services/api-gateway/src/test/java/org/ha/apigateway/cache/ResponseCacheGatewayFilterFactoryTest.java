@@ -0,0 +1,221 @@
+package org.ha.apigateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private final ResponseCacheStore store = new ResponseCacheStore(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64));
+    private final ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(store);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void authorizedResponsesAreNotSharedBetweenPrincipals() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setCacheAuthorized(true);
+        GatewayFilter filter = factory.apply(config);
+
+        MockServerWebExchange alice = authorized("/api/users/me");
+        filter.filter(alice, respond(HttpStatus.OK, "alice")).contextWrite(as("alice")).block();
+        MockServerWebExchange bob = authorized("/api/users/me");
+        filter.filter(bob, respond(HttpStatus.OK, "bob")).contextWrite(as("bob")).block();
+        MockServerWebExchange aliceAgain = authorized("/api/users/me");
+        filter.filter(aliceAgain, respond(HttpStatus.OK, "other")).contextWrite(as("alice")).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(bob.getResponse().getBodyAsString().block()).isEqualTo("bob");
+        assertThat(aliceAgain.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER))
+                .isEqualTo("HIT");
+        assertThat(aliceAgain.getResponse().getBodyAsString().block()).isEqualTo("alice");
+    }
+
+    @Test
+    void sharedRouteServesOneEntryToEveryPrincipal() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setSharedAcrossPrincipals(true);
+        GatewayFilter filter = factory.apply(config);
+
+        filter.filter(authorized("/api/games/1"), respond(HttpStatus.OK, "game")).contextWrite(as("alice")).block();
+        MockServerWebExchange bob = authorized("/api/games/1");
+        filter.filter(bob, respond(HttpStatus.OK, "other")).contextWrite(as("bob")).block();
+        MockServerWebExchange visitor = anonymous("/api/games/1");
+        filter.filter(visitor, respond(HttpStatus.OK, "other")).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(bob.getResponse().getBodyAsString().block()).isEqualTo("game");
+        assertThat(visitor.getResponse().getBodyAsString().block()).isEqualTo("game");
+    }
+
+    @Test
+    void authorizedRequestWithoutAuthenticationIsNotCached() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setCacheAuthorized(true);
+        GatewayFilter filter = factory.apply(config);
+
+        filter.filter(authorized("/api/games/1"), respond(HttpStatus.OK, "game")).block();
+        filter.filter(authorized("/api/games/1"), respond(HttpStatus.OK, "game")).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void waitersShareAnUncacheableResponse() {
+        GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        GatewayFilterChain slowChain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono().then(write(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, "busy"));
+        };
+
+        MockServerWebExchange leader = anonymous("/api/games/1");
+        Mono<Void> leaderCall = filter.filter(leader, slowChain).cache();
+        leaderCall.subscribe();
+        MockServerWebExchange follower = anonymous("/api/games/1");
+        Mono<Void> followerCall = filter.filter(follower, slowChain).cache();
+        followerCall.subscribe();
+        upstream.tryEmitEmpty();
+        leaderCall.block();
+        followerCall.block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(follower.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER))
+                .isEqualTo("COALESCED");
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("busy");
+        assertThat(store.get(CacheKey.of("", follower.getRequest(), null))).isNull();
+    }
+
+    @Test
+    void leaderValidatorsAreAnsweredLocallyAndWaitersGetTheBody() {
+        GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        List<String> forwardedValidators = new ArrayList<>();
+        GatewayFilterChain conditionalChain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+            forwardedValidators.addAll(ifNoneMatch);
+            if (!ifNoneMatch.isEmpty()) {
+                exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                return upstream.asMono().then(exchange.getResponse().setComplete());
+            }
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            return upstream.asMono().then(write(exchange.getResponse(), HttpStatus.OK, "game"));
+        };
+
+        MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get("/api/games/1")
+                .ifNoneMatch("\"v1\""));
+        Mono<Void> leaderCall = filter.filter(leader, conditionalChain).cache();
+        leaderCall.subscribe();
+        MockServerWebExchange follower = anonymous("/api/games/1");
+        Mono<Void> followerCall = filter.filter(follower, conditionalChain).cache();
+        followerCall.subscribe();
+        upstream.tryEmitEmpty();
+        leaderCall.block();
+        followerCall.block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(forwardedValidators).isEmpty();
+        assertThat(leader.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("game");
+    }
+
+    @Test
+    void notModifiedResponseIsNeverShared() {
+        GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        GatewayFilterChain notModifiedChain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+            return upstream.asMono().then(exchange.getResponse().writeWith(Flux.empty()));
+        };
+
+        Mono<Void> leaderCall = filter.filter(anonymous("/api/games/1"), notModifiedChain).cache();
+        leaderCall.subscribe();
+        MockServerWebExchange follower = anonymous("/api/games/1");
+        Mono<Void> followerCall = filter.filter(follower, respond(HttpStatus.OK, "game")).cache();
+        followerCall.subscribe();
+        upstream.tryEmitEmpty();
+        leaderCall.block();
+        followerCall.block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("game");
+    }
+
+    @Test
+    void writeInvalidatesOnlyTheAffectedPaths() {
+        GatewayFilter filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        for (String path : List.of("/api/games", "/api/games/1", "/api/games/1/reviews", "/api/games/2")) {
+            filter.filter(anonymous(path), respond(HttpStatus.OK, path)).block();
+        }
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.put("/api/games/1")),
+                respond(HttpStatus.OK, "updated")).block();
+
+        assertThat(store.get(CacheKey.of("", anonymous("/api/games").getRequest(), null))).isNull();
+        assertThat(store.get(CacheKey.of("", anonymous("/api/games/1").getRequest(), null))).isNull();
+        assertThat(store.get(CacheKey.of("", anonymous("/api/games/1/reviews").getRequest(), null))).isNull();
+        assertThat(store.get(CacheKey.of("", anonymous("/api/games/2").getRequest(), null))).isNotNull();
+    }
+
+    @Test
+    void pathIsNotAffectedBySiblingWithCommonPrefix() {
+        CacheKey key = new CacheKey("games", "/api/games/10", "", false, null);
+
+        assertThat(key.isAffectedBy("/api/games/1")).isFalse();
+        assertThat(key.isAffectedBy("/api/games/10")).isTrue();
+        assertThat(key.isAffectedBy("/api/games")).isTrue();
+    }
+
+    private GatewayFilterChain respond(HttpStatus status, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return write(exchange.getResponse(), status, body);
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, String body) {
+        return Mono.defer(() -> {
+            response.setStatusCode(status);
+            response.getHeaders().setCacheControl("max-age=60");
+            DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(buffer));
+        });
+    }
+
+    private static MockServerWebExchange anonymous(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    private static MockServerWebExchange authorized(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+    }
+
+    private static Context as(String name) {
+        return ReactiveSecurityContextHolder.withAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(name, "n/a", List.of()));
+    }
+}
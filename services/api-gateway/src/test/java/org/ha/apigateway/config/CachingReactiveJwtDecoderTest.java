@@ -0,0 +1,56 @@
+package org.ha.apigateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingReactiveJwtDecoderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(token -> {
+        verifications.incrementAndGet();
+        return Mono.just(Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject(token)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build());
+    }, 100, Duration.ofMinutes(5));
+
+    @Test
+    void cachedTokenIsVerifiedOnce() {
+        decoder.decode("a.b.c").block();
+        decoder.decode("a.b.c").block();
+
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void invalidatedTokenIsVerifiedAgain() {
+        decoder.decode("a.b.c").block();
+        decoder.decode("d.e.f").block();
+
+        decoder.invalidate("a.b.c");
+        decoder.decode("a.b.c").block();
+        decoder.decode("d.e.f").block();
+
+        assertThat(verifications).hasValue(3);
+    }
+
+    @Test
+    void invalidateAllDropsEveryToken() {
+        decoder.decode("a.b.c").block();
+        decoder.decode("d.e.f").block();
+
+        decoder.invalidateAll();
+        decoder.decode("a.b.c").block();
+        decoder.decode("d.e.f").block();
+
+        assertThat(verifications).hasValue(4);
+    }
+}
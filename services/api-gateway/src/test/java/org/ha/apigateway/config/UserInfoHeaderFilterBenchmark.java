@@ -0,0 +1,85 @@
+package org.ha.apigateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Measures bytes allocated per request by the JWT decoder cache and the user header filter.
+ * Not picked up by the default surefire includes; run it with
+ * {@code ./mvnw test -Dtest=UserInfoHeaderFilterBenchmark}.
+ */
+class UserInfoHeaderFilterBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Jwt jwt = Jwt.withTokenValue("header.payload.signature")
+            .header("alg", "HS256")
+            .subject("alice")
+            .claim("userId", "42")
+            .claim("roles", List.of("USER", "ADMIN"))
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(3600))
+            .build();
+    private final CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(token -> Mono.just(jwt), 100, Duration.ofMinutes(5));
+    private final UserInfoHeaderFilter filter = new UserInfoHeaderFilter(decoder);
+    private final ServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/games/1").header(UserHeaders.USER_ID, "spoofed"));
+    private final Context authenticated =
+            ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt));
+
+    private ServerWebExchange forwarded;
+    private final GatewayFilterChain chain = captured -> {
+        forwarded = captured;
+        return Mono.empty();
+    };
+
+    @Test
+    void allocationPerRequest() {
+        decoder.decode(jwt.getTokenValue()).block();
+
+        long baseline = allocatedPerCall(() -> chain.filter(exchange).contextWrite(authenticated).subscribe());
+        long decoderHit = allocatedPerCall(() -> decoder.decode(jwt.getTokenValue()).subscribe());
+        long authenticatedFilter = allocatedPerCall(() ->
+                filter.filter(exchange, chain).contextWrite(authenticated).subscribe());
+        assertEquals("42", forwarded.getRequest().getHeaders().getFirst(UserHeaders.USER_ID));
+        assertEquals("USER,ADMIN", forwarded.getRequest().getHeaders().getFirst(UserHeaders.USER_ROLES));
+
+        long anonymousFilter = allocatedPerCall(() -> filter.filter(exchange, chain).subscribe());
+        assertNull(forwarded.getRequest().getHeaders().getFirst(UserHeaders.USER_ID));
+
+        System.out.printf("Bytes allocated per request (baseline chain: %d B)%n", baseline);
+        System.out.printf("  decoder cache hit:         %d B%n", decoderHit);
+        System.out.printf("  filter, authenticated:     %d B%n", authenticatedFilter - baseline);
+        System.out.printf("  filter, anonymous:         %d B%n", anonymousFilter - baseline);
+    }
+
+    private static long allocatedPerCall(Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+}
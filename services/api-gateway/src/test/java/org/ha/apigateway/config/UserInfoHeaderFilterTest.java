@@ -0,0 +1,93 @@
+package org.ha.apigateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserInfoHeaderFilterTest {
+
+    private final Jwt jwt = Jwt.withTokenValue("header.payload.signature")
+            .header("alg", "HS256")
+            .subject("alice")
+            .claim("userId", "42")
+            .claim("roles", List.of("USER", "ADMIN"))
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(3600))
+            .build();
+    private final CachingReactiveJwtDecoder decoder =
+            new CachingReactiveJwtDecoder(token -> Mono.just(jwt), 100, Duration.ofMinutes(5));
+    private final UserInfoHeaderFilter filter = new UserInfoHeaderFilter(decoder);
+    private final Context authenticated = ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt));
+
+    private final List<ServerWebExchange> forwarded = new ArrayList<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.add(exchange);
+        return Mono.empty();
+    };
+
+    @Test
+    void authenticatedRequestCarriesUserHeadersFromTheToken() {
+        filter.filter(spoofedExchange(), chain).contextWrite(authenticated).block();
+
+        assertThat(forwarded).hasSize(1);
+        assertThat(forwarded.get(0).getRequest().getHeaders().get(UserHeaders.USER_ID)).containsExactly("42");
+        assertThat(forwarded.get(0).getRequest().getHeaders().get(UserHeaders.USER_ROLES)).containsExactly("USER,ADMIN");
+    }
+
+    @Test
+    void anonymousRequestHasSpoofedHeadersStripped() {
+        filter.filter(spoofedExchange(), chain).block();
+
+        assertThat(forwarded).hasSize(1);
+        assertThat(forwarded.get(0).getRequest().getHeaders().containsKey(UserHeaders.USER_ID)).isFalse();
+        assertThat(forwarded.get(0).getRequest().getHeaders().containsKey(UserHeaders.USER_ROLES)).isFalse();
+    }
+
+    @Test
+    void contextWithoutAuthenticationIsTreatedAsAnonymous() {
+        filter.filter(spoofedExchange(), chain)
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(new SecurityContextImpl())))
+                .block();
+
+        assertThat(forwarded).hasSize(1);
+        assertThat(forwarded.get(0).getRequest().getHeaders().containsKey(UserHeaders.USER_ID)).isFalse();
+    }
+
+    @Test
+    void anonymousRequestWithoutUserHeadersIsForwardedUnchanged() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/games/1"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded).containsExactly(exchange);
+    }
+
+    @Test
+    void chainIsInvokedExactlyOncePerRequest() {
+        filter.filter(spoofedExchange(), chain).contextWrite(authenticated).block();
+        filter.filter(spoofedExchange(), chain).block();
+
+        assertThat(forwarded).hasSize(2);
+    }
+
+    private static ServerWebExchange spoofedExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/games/1")
+                .header(UserHeaders.USER_ID, "spoofed")
+                .header(UserHeaders.USER_ROLES, "ADMIN"));
+    }
+}
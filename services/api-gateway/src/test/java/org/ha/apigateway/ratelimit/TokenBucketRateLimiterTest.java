@@ -0,0 +1,102 @@
+package org.ha.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final LocalTokenBucketStore store = new LocalTokenBucketStore(1000, Duration.ofMinutes(10), clock::get);
+    private final TokenBucketRateLimiter.Config config = config(10, 5);
+
+    @Test
+    void burstIsAllowedUpToCapacity() {
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = store.consume("key", config);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(4 - i);
+        }
+
+        RateLimitDecision rejected = store.consume("key", config);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(config.tokenNanos());
+    }
+
+    @Test
+    void tokenIsRefilledAfterOneEmissionInterval() {
+        exhaust("key");
+
+        clock.addAndGet(config.tokenNanos() - 1);
+        assertThat(store.consume("key", config).allowed()).isFalse();
+
+        clock.addAndGet(1);
+        assertThat(store.consume("key", config).allowed()).isTrue();
+        assertThat(store.consume("key", config).allowed()).isFalse();
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityOnly() {
+        exhaust("key");
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.consume("key", config).allowed()).isTrue();
+        }
+        assertThat(store.consume("key", config).allowed()).isFalse();
+    }
+
+    @Test
+    void eachKeyHasItsOwnBucket() {
+        exhaust("user:1");
+
+        assertThat(store.consume("user:1", config).allowed()).isFalse();
+        assertThat(store.consume("user:2", config).allowed()).isTrue();
+    }
+
+    @Test
+    void limiterReportsRemainingAndRetryAfterHeaders() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(mock(ConfigurationService.class), store, null);
+        // 1 token per second, so a rejected request has to wait a full second
+        limiter.getConfig().put("games", config(1, 2));
+
+        RateLimiter.Response allowed = limiter.isAllowed("games", "user:1").block();
+        assertThat(allowed.isAllowed()).isTrue();
+        assertThat(allowed.getHeaders())
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "1")
+                .containsEntry(TokenBucketRateLimiter.REPLENISH_RATE_HEADER, "1")
+                .containsEntry(TokenBucketRateLimiter.BURST_CAPACITY_HEADER, "2")
+                .doesNotContainKey(TokenBucketRateLimiter.RETRY_AFTER_HEADER);
+
+        limiter.isAllowed("games", "user:1").block();
+        RateLimiter.Response rejected = limiter.isAllowed("games", "user:1").block();
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders())
+                .containsEntry(TokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(TokenBucketRateLimiter.RETRY_AFTER_HEADER, "1");
+
+        // Buckets are per route as well as per key
+        assertThat(limiter.isAllowed("users", "user:1").block().isAllowed()).isTrue();
+    }
+
+    private void exhaust(String key) {
+        while (store.consume(key, config).allowed()) {
+            // drain the bucket
+        }
+    }
+
+    private static TokenBucketRateLimiter.Config config(int replenishRate, long burstCapacity) {
+        TokenBucketRateLimiter.Config config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        return config;
+    }
+}
@@ -0,0 +1,69 @@
+package org.ha.apigateway.ratelimit;
+
+import org.ha.apigateway.config.CachingReactiveJwtDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserOrIpKeyResolverTest {
+
+    private final CachingReactiveJwtDecoder decoder =
+            new CachingReactiveJwtDecoder(token -> Mono.empty(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void authenticatedRequestIsKeyedByUserId() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .claim("userId", "42")
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+
+        String key = new UserOrIpKeyResolver(decoder, 0).resolve(exchange("10.0.0.1"))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(new JwtAuthenticationToken(jwt)))
+                .block();
+
+        assertThat(key).isEqualTo("user:42");
+    }
+
+    @Test
+    void contextWithoutAuthenticationIsKeyedByIp() {
+        String key = new UserOrIpKeyResolver(decoder, 0).resolve(exchange("10.0.0.1"))
+                .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(new SecurityContextImpl())))
+                .block();
+
+        assertThat(key).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void forwardedForIsIgnoredWithoutTrustedProxies() {
+        String key = new UserOrIpKeyResolver(decoder, 0).resolve(exchange("10.0.0.1")).block();
+
+        assertThat(key).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void forwardedForIsReadUpToTheTrustedHop() {
+        // The client wrote 6.6.6.6 itself; 203.0.113.7 was appended by the single trusted proxy
+        String key = new UserOrIpKeyResolver(decoder, 1).resolve(exchange("10.0.0.1")).block();
+
+        assertThat(key).isEqualTo("ip:203.0.113.7");
+    }
+
+    private static ServerWebExchange exchange(String remoteAddress) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/games")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000))
+                .header("X-Forwarded-For", "6.6.6.6, 203.0.113.7"));
+    }
+}
@@ -0,0 +1,20 @@
+package org.ha.gameservice.config;
+
+import org.ha.gameservice.entity.Game;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Keeps derived search fields of {@link Game} in sync whenever an entity is written.
+ */
+@Component
+public class GameBeforeConvertCallback implements BeforeConvertCallback<Game> {
+
+    @Override
+    public Game onBeforeConvert(Game game, String collection) {
+        game.setNameLower(game.getName() != null ? game.getName().toLowerCase(Locale.ROOT) : null);
+        return game;
+    }
+}
@@ -0,0 +1,100 @@
+package org.ha.gameservice.config;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index definitions for the games collection, together with representative query shapes
+ * they are meant to serve. Every query served by the repository, filter, cursor and search
+ * paths should have a matching entry, including its sort, in {@link #registeredQueries()}.
+ */
+public final class GameIndexes {
+
+    private GameIndexes() {
+    }
+
+    public static List<IndexDefinition> definitions() {
+        return List.of(
+                new Index().on("appId", Sort.Direction.ASC).unique().named("appId_unique"),
+                new Index().on("type", Sort.Direction.ASC).on("appId", Sort.Direction.ASC).named("type_appId"),
+                new Index().on("isFree", Sort.Direction.ASC).on("appId", Sort.Direction.ASC).named("isFree_appId"),
+                new Index().on("priceOverview.finalPrice", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .partial(PartialIndexFilter.of(Criteria.where("priceOverview.finalPrice").exists(true)))
+                        .named("price_appId_partial"),
+                // Multikey indexes over the embedded arrays, in the appId order browse pages default to
+                new Index().on("genres.description", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .named("genre_appId"),
+                new Index().on("categories.description", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .named("category_appId"),
+                new Index().on("developers", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .named("developers_appId"),
+                new Index().on("publishers", Sort.Direction.ASC).named("publishers"),
+                // Windows covers almost the whole catalog; mac and linux only index their own games
+                new Index().on("platforms.windows", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .named("platform_windows"),
+                new Index().on("platforms.mac", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .partial(PartialIndexFilter.of(Criteria.where("platforms.mac").is(true)))
+                        .named("platform_mac_partial"),
+                new Index().on("platforms.linux", Sort.Direction.ASC).on("appId", Sort.Direction.ASC)
+                        .partial(PartialIndexFilter.of(Criteria.where("platforms.linux").is(true)))
+                        .named("platform_linux_partial"),
+                new Index().on("nameLower", Sort.Direction.ASC).named("nameLower"),
+                new Index().on("updatedAt", Sort.Direction.DESC).named("updatedAt_desc"),
+                TextIndexDefinition.builder()
+                        .named("games_text_search")
+                        .onField("name", 10F)
+                        .onField("developers", 3F)
+                        .onField("publishers", 3F)
+                        .onField("genres.description", 2F)
+                        .onField("shortDescription")
+                        .build()
+        );
+    }
+
+    /**
+     * Query shapes with the sort each endpoint applies by default: browse pages sort by appId
+     * (price ranges by price), filter requests match with {@code $and} before sorting.
+     */
+    public static Map<String, Query> registeredQueries() {
+        Sort byAppId = Sort.by(Sort.Direction.ASC, "appId");
+        Sort byPrice = Sort.by(Sort.Direction.ASC, "priceOverview.finalPrice").and(byAppId);
+
+        Map<String, Query> queries = new LinkedHashMap<>();
+        queries.put("findByAppId", new Query(Criteria.where("appId").is(10)));
+        queries.put("findByType", new Query(Criteria.where("type").is("game")).with(byAppId));
+        queries.put("findByIsFree", new Query(Criteria.where("isFree").is(true)).with(byAppId));
+        queries.put("findByGenre", new Query(Criteria.where("genres.description").is("Action")).with(byAppId));
+        queries.put("findByCategory", new Query(Criteria.where("categories.description").is("Single-player"))
+                .with(byAppId));
+        queries.put("findWindowsGames", new Query(Criteria.where("platforms.windows").is(true)).with(byAppId));
+        queries.put("findMacGames", new Query(Criteria.where("platforms.mac").is(true)).with(byAppId));
+        queries.put("findLinuxGames", new Query(Criteria.where("platforms.linux").is(true)).with(byAppId));
+        queries.put("findByPriceRange", new Query(Criteria.where("priceOverview.finalPrice").gte(0).lte(1000))
+                .with(byPrice));
+        queries.put("filterAll", new Query().with(byAppId));
+        queries.put("filterByGenre", filter(Criteria.where("genres.description").is("Action")).with(byAppId));
+        queries.put("filterByDeveloper", filter(Criteria.where("developers").is("Valve")).with(byAppId));
+        queries.put("filterFreeGames", filter(Criteria.where("isFree").is(true)).with(byAppId));
+        queries.put("filterByPrice", filter(Criteria.where("priceOverview.finalPrice").gte(0),
+                Criteria.where("priceOverview.finalPrice").lte(1000)).with(byPrice));
+        queries.put("cursorByAppId", new Query(Criteria.where("appId").gt(0))
+                .with(Sort.by(Sort.Direction.ASC, "appId")));
+        queries.put("latestUpdate", new Query().with(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(1));
+        queries.put("searchPrefix", new Query(Criteria.where("nameLower").regex("^half")));
+        return queries;
+    }
+
+    // Same shape as GameFilterQueryBuilder output
+    private static Query filter(Criteria... criteria) {
+        return new Query(new Criteria().andOperator(criteria));
+    }
+}
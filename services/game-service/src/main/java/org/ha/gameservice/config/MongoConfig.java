@@ -4,15 +4,22 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.service.GameIndexService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.util.concurrent.CompletableFuture;
+
 @Configuration
 @EnableMongoRepositories(basePackages = "org.ha.gameservice.repository")
+@Slf4j
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.database}")
@@ -33,6 +40,12 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.authentication-database:admin}")
     private String authenticationDatabase;
 
+    @Value("${game.indexes.create-on-startup:true}")
+    private boolean createIndexesOnStartup;
+
+    @Value("${game.indexes.check-plans-on-startup:true}")
+    private boolean checkPlansOnStartup;
+
     @Override
     protected String getDatabaseName() {
         return databaseName;
@@ -52,6 +65,25 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         return new MongoTemplate(mongoClient(), getDatabaseName());
     }
 
+    // Index builds run off the startup thread so the service can accept traffic meanwhile
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> gameIndexInitializer(GameIndexService gameIndexService) {
+        return event -> {
+            if (!createIndexesOnStartup) {
+                return;
+            }
+            CompletableFuture.runAsync(() -> {
+                gameIndexService.ensureIndexes();
+                if (checkPlansOnStartup) {
+                    gameIndexService.checkQueryPlans();
+                }
+            }).exceptionally(e -> {
+                log.error("Failed to initialize games indexes", e);
+                return null;
+            });
+        };
+    }
+
     private ConnectionString buildConnectionString() {
         StringBuilder uri = new StringBuilder("mongodb://");
 
@@ -1,22 +1,72 @@
 package org.ha.gameservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ha.commons.dto.request.FilterRequest;
+import org.ha.commons.dto.request.SearchRequest;
 import org.ha.commons.dto.response.ApiResponse;
+import org.ha.commons.dto.response.CursorPageResponse;
+import org.ha.commons.dto.response.ErrorResponse;
 import org.ha.commons.dto.response.PageResponse;
 import org.ha.commons.dto.response.SuccessResponse;
+import org.ha.gameservice.dto.BulkImportResult;
 import org.ha.gameservice.dto.CreateGameRequest;
+import org.ha.gameservice.dto.DetailsMigrationResult;
+import org.ha.gameservice.dto.GameCursorPage;
+import org.ha.gameservice.dto.GameFilterResult;
+import org.ha.gameservice.dto.GameSuggestion;
+import org.ha.gameservice.dto.GameView;
+import org.ha.gameservice.dto.ImportMode;
+import org.ha.gameservice.dto.PriceUpdate;
+import org.ha.gameservice.dto.PriceUpdateJob;
+import org.ha.gameservice.dto.PriceUpdateResult;
+import org.ha.gameservice.dto.QueryPlanReport;
+import org.ha.gameservice.dto.ResourceVersion;
+import org.ha.gameservice.dto.SearchMode;
+import org.ha.gameservice.dto.SerializedGame;
+import org.ha.gameservice.dto.SimilarGame;
+import org.ha.gameservice.dto.SimilarityRebuildReport;
 import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.entity.GameDetails;
+import org.ha.gameservice.service.GameBrowseService;
+import org.ha.gameservice.service.GameDetailsService;
+import org.ha.gameservice.service.GameFilterService;
+import org.ha.gameservice.service.GameImportService;
+import org.ha.gameservice.service.GameIndexService;
+import org.ha.gameservice.service.GamePriceUpdateService;
+import org.ha.gameservice.service.GameSearchService;
 import org.ha.gameservice.service.GameService;
+import org.ha.gameservice.service.GameSimilarityService;
+import org.ha.gameservice.service.GameStatisticsService;
+import org.ha.gameservice.service.GameSuggestService;
+import org.ha.gameservice.service.MalformedImportException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/games")
@@ -24,7 +74,25 @@ import java.util.Optional;
 @Slf4j
 public class GameController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MIGRATION_BATCH_SIZE = 5000;
+    private static final int MAX_SIMILAR_LIMIT = 50;
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
     private final GameService gameService;
+    private final GameImportService gameImportService;
+    private final GameSearchService gameSearchService;
+    private final GameSuggestService gameSuggestService;
+    private final GameFilterService gameFilterService;
+    private final GameIndexService gameIndexService;
+    private final GameBrowseService gameBrowseService;
+    private final GameDetailsService gameDetailsService;
+    private final GamePriceUpdateService gamePriceUpdateService;
+    private final GameStatisticsService gameStatisticsService;
+    private final GameSimilarityService gameSimilarityService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ApiResponse> createGame(@RequestBody CreateGameRequest game) {
@@ -40,53 +108,433 @@ public class GameController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<ApiResponse> createGamesBulk(@RequestBody List<Game> games) {
-        log.info("Received request to create bulk games, count: {}", games.size());
-        List<Game> createdGames = gameService.createGames(games);
+    public ResponseEntity<ApiResponse> createGamesBulk(
+            @RequestBody List<Game> games,
+            @RequestParam(defaultValue = "insert") String mode
+    ) {
+        log.info("Received request to create bulk games, count: {}, mode: {}", games.size(), mode);
+        BulkImportResult result;
+        try {
+            result = ImportMode.from(mode) == ImportMode.UPSERT
+                    ? gameService.upsertGames(games)
+                    : gameService.createGames(games);
+        } catch (IllegalArgumentException e) {
+            log.error("Error importing games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(SuccessResponse.builder()
-                        .data(createdGames)
-                        .message("Game created successfully")
+                        .data(result)
+                        .message("Games imported successfully")
                         .build());
     }
 
+    @PostMapping(value = "/bulk/stream", consumes = {NDJSON_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ApiResponse> importGamesStream(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "insert") String mode
+    ) throws IOException {
+        boolean compressed = gzip || "gzip".equalsIgnoreCase(contentEncoding);
+        log.info("Received request to stream-import games, gzip: {}, mode: {}", compressed, mode);
+        try {
+            BulkImportResult result = gameImportService.importNdjson(
+                    request.getInputStream(), compressed, ImportMode.from(mode));
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(SuccessResponse.builder()
+                            .data(result)
+                            .message("Games imported successfully")
+                            .build());
+        } catch (MalformedImportException e) {
+            log.error("Error stream-importing games: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ErrorResponse.builder()
+                    .error(ErrorResponse.ErrorDetail.builder()
+                            .code("MALFORMED_NDJSON")
+                            .message(e.getMessage())
+                            .metadata(Map.of("line", e.getLine(), "result", e.getResult()))
+                            .build())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            log.error("Error stream-importing games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/prices/bulk", consumes = {CSV_MEDIA_TYPE, NDJSON_MEDIA_TYPE})
+    public ResponseEntity<ApiResponse> updatePrices(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Instant applyAt
+    ) throws IOException {
+        boolean compressed = gzip || "gzip".equalsIgnoreCase(contentEncoding);
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE));
+        log.info("Received bulk price update, csv: {}, gzip: {}, apply at: {}", csv, compressed, applyAt);
+        try {
+            // The whole upload is validated before anything is written or scheduled
+            List<PriceUpdate> rows = gamePriceUpdateService.read(request.getInputStream(), csv, compressed);
+            if (applyAt != null && applyAt.isAfter(Instant.now())) {
+                PriceUpdateJob job = gamePriceUpdateService.schedule(rows, applyAt);
+                return ResponseEntity
+                        .status(HttpStatus.ACCEPTED)
+                        .body(SuccessResponse.builder()
+                                .data(job)
+                                .message("Price update scheduled")
+                                .build());
+            }
+            PriceUpdateResult result = gamePriceUpdateService.apply(rows);
+            return ResponseEntity.ok(SuccessResponse.builder()
+                    .data(result)
+                    .message("Prices updated successfully")
+                    .build());
+        } catch (IllegalArgumentException e) {
+            log.error("Error updating prices: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/prices/jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getPriceUpdateJob(@PathVariable String jobId) {
+        return gamePriceUpdateService.getJob(jobId)
+                .<ResponseEntity<ApiResponse>>map(job -> ResponseEntity.ok(SuccessResponse.of(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/prices/jobs/{jobId}")
+    public ResponseEntity<Void> cancelPriceUpdateJob(@PathVariable String jobId) {
+        log.info("Received request to cancel price update job: {}", jobId);
+        return gamePriceUpdateService.cancel(jobId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Game> getGameById(@PathVariable String id) {
+    public ResponseEntity<byte[]> getGameById(@PathVariable String id, ServletWebRequest webRequest) {
         log.info("Received request to get game by id: {}", id);
-        Optional<Game> game = gameService.getGameById(id);
-        return game.map(ResponseEntity::ok)
+        Optional<ResourceVersion> version = gameService.getGameVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (isNotModified(version.get(), webRequest)) {
+            return null;
+        }
+
+        // Hot documents are written from cached bytes, without serializing or compressing again
+        Optional<SerializedGame> game = gameService.getSerializedGameById(id);
+        return game.map(body -> serializedGame(body, version.get(), webRequest))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/appid/{appId}")
-    public ResponseEntity<Game> getGameByAppId(@PathVariable Integer appId) {
+    public ResponseEntity<byte[]> getGameByAppId(@PathVariable Integer appId, ServletWebRequest webRequest) {
         log.info("Received request to get game by appId: {}", appId);
-        Optional<Game> game = gameService.getGameByAppId(appId);
-        return game.map(ResponseEntity::ok)
+        Optional<ResourceVersion> version = gameService.getGameVersionByAppId(appId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (isNotModified(version.get(), webRequest)) {
+            return null;
+        }
+
+        Optional<SerializedGame> game = gameService.getSerializedGameByAppId(appId);
+        return game.map(body -> serializedGame(body, version.get(), webRequest))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/appid/{appId}/details")
+    public ResponseEntity<GameDetails> getGameDetails(@PathVariable Integer appId) {
+        log.info("Received request to get game details by appId: {}", appId);
+        return gameService.getGameDetails(appId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/appid/{appId}/similar")
+    public ResponseEntity<ApiResponse> getSimilarGames(
+            @PathVariable Integer appId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("Received request for games similar to appId: {}, limit: {}", appId, limit);
+        List<SimilarGame> similar = gameSimilarityService.findSimilar(appId, Math.min(Math.max(limit, 1), MAX_SIMILAR_LIMIT));
+        return ResponseEntity.ok(SuccessResponse.of(similar));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse> getAllGames(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) List<String> fields,
+            ServletWebRequest webRequest
     ) {
-        log.info("Received request to get all games, page: {}, size: {}", page, size);
+        log.info("Received request to get all games, page: {}, size: {}, view: {}", page, size, view);
+        ResourceVersion version = gameService.getCatalogVersion(listingKey(webRequest));
+        if (isNotModified(version, webRequest)) {
+            return null;
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Game> games = gameService.getAllGames(pageable);
+        Page<?> games;
+        try {
+            games = GameView.from(view) == GameView.SUMMARY
+                    ? gameService.getGameSummaries(pageable)
+                    : gameService.getAllGames(pageable, fields);
+        } catch (IllegalArgumentException e) {
+            log.error("Error listing games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity
-                .status(HttpStatus.ACCEPTED)
+        // Unfiltered totals come from estimatedDocumentCount
+        return withValidators(ResponseEntity.status(HttpStatus.ACCEPTED), version)
                 .body(PageResponse.of(
                         games.getContent(),
                         games.getNumber() + 1,
                         games.getSize(),
-                        games.getTotalElements()
+                        games.getTotalElements(),
+                        true
                 ));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse> getGamesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by cursor, size: {}, sort: {}, view: {}", size, sort, view);
+        ResourceVersion version = gameService.getCatalogVersion(listingKey(webRequest));
+        if (isNotModified(version, webRequest)) {
+            return null;
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        GameCursorPage<?> games;
+        try {
+            games = GameView.from(view) == GameView.SUMMARY
+                    ? gameService.getGameSummariesByCursor(cursor, pageSize, sort, direction)
+                    : gameService.getGamesByCursor(cursor, pageSize, sort, direction);
+        } catch (IllegalArgumentException e) {
+            log.error("Error listing games by cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        Long total = includeTotal ? gameService.getTotalGamesCount() : null;
+        return withValidators(ResponseEntity.ok(), version).body(CursorPageResponse.of(
+                games.getContent(),
+                pageSize,
+                games.getNextCursor(),
+                total
+        ));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchGames(
+            @Valid @ModelAttribute SearchRequest searchRequest,
+            @RequestParam(defaultValue = "text") String mode,
+            @RequestParam(defaultValue = "summary") String view
+    ) {
+        log.info("Received request to search games, query: {}, mode: {}", searchRequest.getQuery(), mode);
+        Page<?> games;
+        try {
+            games = gameSearchService.search(searchRequest, SearchMode.from(mode), GameView.from(view));
+        } catch (IllegalArgumentException e) {
+            log.error("Error searching games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(PageResponse.of(
+                games.getContent(),
+                games.getNumber() + 1,
+                games.getSize(),
+                games.getTotalElements()
+        ));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse> suggestGames(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("Received request to suggest games, q: {}", query);
+        List<GameSuggestion> suggestions = gameSuggestService.suggest(query, limit);
+        return ResponseEntity.ok(SuccessResponse.of(suggestions));
+    }
+
+    @PostMapping("/filter")
+    public ResponseEntity<ApiResponse> filterGames(
+            @RequestBody(required = false) FilterRequest filterRequest,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "summary") String view,
+            @RequestParam(defaultValue = "true") boolean facets
+    ) {
+        log.info("Received request to filter games, page: {}, size: {}", page, size);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        try {
+            GameFilterResult result = gameFilterService.filter(
+                    filterRequest, Math.max(page, 1), pageSize, sort, direction, GameView.from(view), facets);
+            return ResponseEntity.ok(SuccessResponse.of(result));
+        } catch (IllegalArgumentException e) {
+            log.error("Error filtering games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse> getCacheStats() {
+        return ResponseEntity.ok(SuccessResponse.of(gameService.getDetailCacheStats()));
+    }
+
+    @PostMapping("/details/migrate")
+    public ResponseEntity<ApiResponse> migrateDetails(@RequestParam(defaultValue = "500") int batchSize) {
+        log.info("Received request to migrate inline game details, batch size: {}", batchSize);
+        if (!gameDetailsService.isSplitEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (batchSize < 1 || batchSize > MAX_MIGRATION_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        DetailsMigrationResult result = gameDetailsService.migrate(batchSize);
+        return ResponseEntity.ok(SuccessResponse.of(result));
+    }
+
+    @PostMapping("/similar/rebuild")
+    public ResponseEntity<ApiResponse> rebuildSimilarGames() {
+        log.info("Received request to rebuild the similar games index");
+        try {
+            SimilarityRebuildReport report = gameSimilarityService.rebuild();
+            return ResponseEntity.ok(SuccessResponse.of(report));
+        } catch (IllegalStateException e) {
+            log.warn("Similar games rebuild rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse> getStatistics() {
+        return ResponseEntity.ok(SuccessResponse.of(gameStatisticsService.getStatistics()));
+    }
+
+    @PostMapping("/stats/refresh")
+    public ResponseEntity<ApiResponse> refreshStatistics() {
+        log.info("Received request to recompute catalog statistics");
+        return ResponseEntity.ok(SuccessResponse.of(gameStatisticsService.refresh()));
+    }
+
+    @GetMapping("/indexes/check")
+    public ResponseEntity<ApiResponse> checkIndexUsage() {
+        log.info("Received request to check games query plans");
+        List<QueryPlanReport> reports = gameIndexService.checkQueryPlans();
+        return ResponseEntity.ok(SuccessResponse.of(reports));
+    }
+
+    @GetMapping("/type/{type}")
+    public ResponseEntity<?> getGamesByType(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by type: {}", type);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByType(type, pageable),
+                order -> gameBrowseService.streamByType(type, order));
+    }
+
+    @GetMapping("/free")
+    public ResponseEntity<?> getGamesByFreeStatus(
+            @RequestParam(defaultValue = "true") Boolean isFree,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by free status: {}", isFree);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByIsFree(isFree, pageable),
+                order -> gameBrowseService.streamByIsFree(isFree, order));
+    }
+
+    @GetMapping("/genre/{genre}")
+    public ResponseEntity<?> getGamesByGenre(
+            @PathVariable String genre,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by genre: {}", genre);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByGenre(genre, pageable),
+                order -> gameBrowseService.streamByGenre(genre, order));
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<?> getGamesByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by category: {}", category);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByCategory(category, pageable),
+                order -> gameBrowseService.streamByCategory(category, order));
+    }
+
+    @GetMapping("/platform/{platform}")
+    public ResponseEntity<?> getGamesByPlatform(
+            @PathVariable String platform,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "appId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by platform: {}", platform);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByPlatform(platform, pageable),
+                order -> gameBrowseService.streamByPlatform(platform, order));
+    }
+
+    @GetMapping("/price")
+    public ResponseEntity<?> getGamesByPriceRange(
+            @RequestParam(defaultValue = "0") Integer min,
+            @RequestParam(defaultValue = "" + Integer.MAX_VALUE) Integer max,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean stream,
+            ServletWebRequest webRequest
+    ) {
+        log.info("Received request to get games by price range: {} - {}", min, max);
+        return browse(webRequest, page, size, sort, direction, stream,
+                pageable -> gameBrowseService.findByPriceRange(min, max, pageable),
+                order -> gameBrowseService.streamByPriceRange(min, max, order));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Game> updateGame(@PathVariable String id, @RequestBody Game game) {
         log.info("Received request to update game with id: {}", id);
@@ -99,6 +547,25 @@ public class GameController {
         }
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Game> patchGame(
+            @PathVariable String id,
+            @RequestBody JsonNode patch,
+            @RequestParam(required = false) Long version
+    ) {
+        log.info("Received request to patch game with id: {}", id);
+        try {
+            Game patchedGame = gameService.patchGame(id, patch, version);
+            return ResponseEntity.ok(patchedGame);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflict patching game: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            log.error("Error patching game: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGame(@PathVariable String id) {
         log.info("Received request to delete game with id: {}", id);
@@ -124,4 +591,96 @@ public class GameController {
         long count = gameService.getTotalGamesCount();
         return ResponseEntity.ok(count);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> browse(ServletWebRequest webRequest, int page, int size, String sort, String direction,
+                                     boolean stream,
+                                     Function<Pageable, Slice<Game>> pageLoader,
+                                     Function<Sort, Stream<Game>> streamLoader) {
+        ResourceVersion version = gameService.getCatalogVersion(listingKey(webRequest));
+        if (isNotModified(version, webRequest)) {
+            return null;
+        }
+
+        try {
+            if (stream) {
+                // Open the cursor here so invalid arguments still surface as 400
+                Stream<Game> games = streamLoader.apply(gameBrowseService.sort(sort, direction));
+                StreamingResponseBody body = outputStream -> writeNdjson(games, outputStream);
+                return withValidators(ResponseEntity.ok(), version)
+                        .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                        .body(body);
+            }
+
+            Slice<Game> games = pageLoader.apply(gameBrowseService.pageable(page, size, sort, direction));
+            return withValidators(ResponseEntity.ok(), version).body(PageResponse.ofSlice(
+                    games.getContent(),
+                    games.getNumber() + 1,
+                    games.getSize(),
+                    games.hasNext(),
+                    games.hasPrevious()
+            ));
+        } catch (IllegalArgumentException e) {
+            log.error("Error browsing games: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private boolean isNotModified(ResourceVersion version, ServletWebRequest webRequest) {
+        return version.isValidatable() && webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        if (version.isValidatable()) {
+            builder.eTag(version.getEtag());
+            if (version.getLastModified() >= 0) {
+                builder.lastModified(version.getLastModified());
+            }
+        }
+        return builder;
+    }
+
+    private static ResponseEntity<byte[]> serializedGame(SerializedGame game, ResourceVersion version,
+                                                         ServletWebRequest webRequest) {
+        ResponseEntity.BodyBuilder builder = withValidators(ResponseEntity.ok(), version)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!game.hasGzip() || !acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.body(game.getJson());
+        }
+        if (version.isValidatable()) {
+            // The compressed variant is not byte-identical, so it only carries a weak validator
+            builder.eTag("W/" + version.getEtag());
+        }
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(game.getGzip());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String listingKey(ServletWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getRequest();
+        return request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+    }
+
+    private void writeNdjson(Stream<Game> games, OutputStream outputStream) throws IOException {
+        try (games) {
+            Iterator<Game> iterator = games.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+    // Upper bound on reported appIds so long-running imports keep a flat memory profile
+    private static final int MAX_REPORTED_APP_IDS = 1000;
+
+    private int requested;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    private int failed;
+
+    @Builder.Default
+    private List<Integer> skippedAppIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<Integer> failedAppIds = new ArrayList<>();
+
+    public void merge(BulkImportResult other) {
+        this.requested += other.requested;
+        this.inserted += other.inserted;
+        this.updated += other.updated;
+        this.unchanged += other.unchanged;
+        this.skipped += other.skipped;
+        this.failed += other.failed;
+        appendCapped(this.skippedAppIds, other.skippedAppIds);
+        appendCapped(this.failedAppIds, other.failedAppIds);
+    }
+
+    private static void appendCapped(List<Integer> target, List<Integer> source) {
+        int remaining = MAX_REPORTED_APP_IDS - target.size();
+        if (remaining > 0) {
+            target.addAll(source.subList(0, Math.min(remaining, source.size())));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long evictionWeight;
+    private long entries;
+    private long weightedSize;
+    private long maxWeight;
+}
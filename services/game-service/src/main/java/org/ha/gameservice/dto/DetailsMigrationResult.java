@@ -0,0 +1,17 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DetailsMigrationResult {
+    private long scanned;
+    private long migrated;
+    private long skipped;   // Changed concurrently; picked up by the next run
+    private long failed;
+}
@@ -0,0 +1,67 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination over the games collection.
+ * The token is opaque to clients: base64url of "sortKey:direction:lastValue".
+ */
+@Getter
+@AllArgsConstructor
+public class GameCursor {
+
+    public enum SortKey {
+        ID("id"),
+        APP_ID("appId");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortKey from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            for (SortKey key : values()) {
+                if (key.property.equalsIgnoreCase(value.trim())) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported cursor sort: " + value);
+        }
+    }
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final Object lastValue;
+
+    public String encode() {
+        String raw = sortKey.name() + ":" + direction.name() + ":" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GameCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            Object lastValue = sortKey == SortKey.ID ? new ObjectId(parts[2]) : Integer.valueOf(parts[2]);
+            return new GameCursor(sortKey, direction, lastValue);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
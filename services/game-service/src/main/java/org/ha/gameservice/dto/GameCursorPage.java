@@ -0,0 +1,13 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class GameCursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+}
@@ -0,0 +1,21 @@
+package org.ha.gameservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ha.commons.dto.response.PageResponse;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameFilterResult {
+    private List<?> games;
+    private PageResponse.PageMetadata pagination;
+    private GameFacets facets;
+}
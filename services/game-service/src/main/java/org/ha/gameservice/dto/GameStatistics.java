@@ -0,0 +1,38 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStatistics {
+    private long totalGames;
+    private long freeGames;
+    private List<GameFacets.FacetCount> genres;
+    private List<GameFacets.FacetCount> categories;
+    private List<GameFacets.FacetCount> developers;
+    private List<GameFacets.FacetCount> publishers;
+    private Map<String, Long> platforms;
+    private List<GameFacets.FacetCount> priceBuckets;
+    private ReviewStatistics reviews;
+    private Date computedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReviewStatistics {
+        private long reviewedGames;
+        private long positive;
+        private long negative;
+        private Double averagePositiveRatio;  // Mean of per-game positive / (positive + negative)
+    }
+}
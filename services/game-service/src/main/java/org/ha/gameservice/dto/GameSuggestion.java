@@ -0,0 +1,15 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Autocomplete entry served from the in-memory suggestion index.
+ */
+@Getter
+@AllArgsConstructor
+public class GameSuggestion {
+    private final Integer appId;
+    private final String name;
+    private final int recommendations;
+}
@@ -0,0 +1,40 @@
+package org.ha.gameservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.ha.gameservice.entity.Game;
+
+import java.util.List;
+
+/**
+ * Slim read model of a {@link Game} used by catalog listings (storefront cards).
+ * Only the fields listed in {@link #FIELDS} are fetched from MongoDB.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameSummary {
+
+    public static final List<String> FIELDS = List.of(
+            "id",
+            "appId",
+            "name",
+            "headerImage",
+            "priceOverview",
+            "platforms",
+            "reviews"
+    );
+
+    private String id;
+    private Integer appId;
+    private String name;
+    private String headerImage;
+    private Game.PriceOverview priceOverview;
+    private Game.Platforms platforms;
+    private Game.Reviews reviews;
+}
@@ -0,0 +1,20 @@
+package org.ha.gameservice.dto;
+
+/**
+ * Representation returned by the game listing endpoints.
+ */
+public enum GameView {
+    SUMMARY,
+    FULL;
+
+    public static GameView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return GameView.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported view: " + value);
+        }
+    }
+}
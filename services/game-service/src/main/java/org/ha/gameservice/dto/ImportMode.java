@@ -0,0 +1,22 @@
+package org.ha.gameservice.dto;
+
+/**
+ * How bulk imports treat games whose appId already exists.
+ */
+public enum ImportMode {
+    /** Skip existing appIds. */
+    INSERT,
+    /** Merge changed fields into existing documents, insert the rest. */
+    UPSERT;
+
+    public static ImportMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return INSERT;
+        }
+        try {
+            return ImportMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported import mode: " + value);
+        }
+    }
+}
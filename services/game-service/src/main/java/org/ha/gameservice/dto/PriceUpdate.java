@@ -0,0 +1,24 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a bulk price update. Only non-null fields are written to the game's
+ * priceOverview; appId and finalPrice are required.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdate {
+    private Integer appId;
+    private Integer finalPrice;
+    private Integer initial;
+    private Integer discountPercent;
+    private String currency;
+    private String finalFormatted;
+    private String initialFormatted;
+}
@@ -0,0 +1,35 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A bulk price update scheduled for a given instant, e.g. the start of a sale.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateJob {
+
+    public enum Status {
+        SCHEDULED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private String id;
+    private volatile Status status;
+    private Instant applyAt;
+    private int rows;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private PriceUpdateResult result;
+    private String error;
+}
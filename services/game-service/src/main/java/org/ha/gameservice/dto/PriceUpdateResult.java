@@ -0,0 +1,37 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateResult {
+    // Upper bound on reported appIds, as for bulk imports
+    private static final int MAX_REPORTED_APP_IDS = 1000;
+
+    private int requested;
+    private int duplicates;     // Rows overridden by a later row for the same appId
+    private int matched;
+    private int modified;
+    private int notFound;
+    private int failed;
+    private long durationMs;
+    private double rowsPerSecond;
+
+    @Builder.Default
+    private List<Integer> failedAppIds = new ArrayList<>();
+
+    public void addFailed(Integer appId) {
+        failed++;
+        if (failedAppIds.size() < MAX_REPORTED_APP_IDS) {
+            failedAppIds.add(appId);
+        }
+    }
+}
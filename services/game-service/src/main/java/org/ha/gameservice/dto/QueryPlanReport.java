@@ -0,0 +1,20 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanReport {
+    private String query;
+    private boolean collectionScan;
+    // The plan sorts in memory because no index provides the requested order
+    private boolean blockingSort;
+    private List<String> indexes;
+}
@@ -0,0 +1,58 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.ha.gameservice.entity.Game;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * HTTP validators (ETag and Last-Modified) of a game resource or listing.
+ * A version without an ETag cannot be validated and must always be served in full.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private final String etag;
+    private final long lastModified; // epoch millis, -1 when unknown
+
+    public boolean isValidatable() {
+        return etag != null;
+    }
+
+    /**
+     * Strong validator of a single game, derived from its update time and content hash, or
+     * from its version after a partial update cleared the hash. Only the updatedAt,
+     * contentHash and version fields of the game need to be loaded.
+     */
+    public static ResourceVersion of(Game game) {
+        if (game.getUpdatedAt() == null) {
+            return new ResourceVersion(null, -1);
+        }
+        long updatedAt = game.getUpdatedAt().getTime();
+        if (game.getContentHash() != null) {
+            return new ResourceVersion("\"" + Long.toHexString(updatedAt) + "-" + game.getContentHash() + "\"", updatedAt);
+        }
+        if (game.getVersion() != null) {
+            return new ResourceVersion("\"" + Long.toHexString(updatedAt) + "-v" + game.getVersion() + "\"", updatedAt);
+        }
+        return new ResourceVersion(null, -1);
+    }
+
+    /**
+     * Weak validator of a listing, derived from the request and the catalog state.
+     */
+    public static ResourceVersion ofListing(String requestKey, long lastModified, long totalCount) {
+        String source = requestKey + "|" + lastModified + "|" + totalCount;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return new ResourceVersion("W/\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"", lastModified);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.ha.gameservice.dto;
+
+/**
+ * Matching strategy used by game search.
+ */
+public enum SearchMode {
+    /** Relevance-ranked full-text search over the text index. */
+    TEXT,
+    /** Case-insensitive name prefix match for typeahead. */
+    PREFIX;
+
+    public static SearchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return TEXT;
+        }
+        try {
+            return SearchMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported search mode: " + value);
+        }
+    }
+}
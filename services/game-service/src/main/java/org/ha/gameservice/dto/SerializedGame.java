@@ -0,0 +1,24 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Pre-serialized JSON representation of a game, optionally with a gzip-compressed copy.
+ * Instances are immutable and shared between requests, so the arrays must not be modified.
+ */
+@Getter
+@AllArgsConstructor
+public class SerializedGame {
+
+    private final byte[] json;
+    private final byte[] gzip; // null when compression is disabled or the document is too small
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public int weight() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,15 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarGame {
+    private float score;    // Jaccard similarity of genre, category, tag, developer and publisher sets
+    private GameSummary game;
+}
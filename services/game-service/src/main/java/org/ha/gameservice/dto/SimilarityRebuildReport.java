@@ -0,0 +1,17 @@
+package org.ha.gameservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityRebuildReport {
+    private int games;
+    private long comparisons;
+    private int stored;
+    private long durationMs;
+}
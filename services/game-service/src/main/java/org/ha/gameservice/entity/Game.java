@@ -1,5 +1,6 @@
 package org.ha.gameservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,6 +36,10 @@ public class Game {
     @Size(min = 1, max = 500, message = "Game name must be between 1 and 500 characters")
     private String name;
 
+    // Lower-cased name maintained on write, used for indexed prefix search
+    @JsonIgnore
+    private String nameLower;
+
     @Min(value = 0, message = "Required age cannot be negative")
     private Integer requiredAge;
 
@@ -127,6 +132,16 @@ public class Game {
     private Date createdAt;
     private Date updatedAt;
 
+    // Incremented on every write; PATCH requests may require an expected version
+    private Long version;
+
+    // Content hashes used by upsert imports to skip unchanged documents and fields
+    @JsonIgnore
+    private String contentHash;
+
+    @JsonIgnore
+    private Map<String, Long> fieldHashes;
+
     // Nested classes
     @Data
     @Builder
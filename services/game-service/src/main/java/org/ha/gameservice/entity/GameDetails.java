@@ -0,0 +1,39 @@
+package org.ha.gameservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Heavy, rarely listed fields of a {@link Game}, stored apart from the compact games
+ * document when the split storage layout is enabled. Keyed by appId, which is unique
+ * and known before the game document is written.
+ */
+@Document(collection = "game_details")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameDetails {
+
+    @Id
+    private Integer appId;
+
+    private String detailedDescription;
+    private String aboutTheGame;
+
+    private Game.PlatformRequirements pcRequirements;
+    private Game.PlatformRequirements macRequirements;
+    private Game.PlatformRequirements linuxRequirements;
+
+    private List<Game.PackageGroup> packageGroups;
+    private List<Game.Movie> movies;
+
+    private Date updatedAt;
+}
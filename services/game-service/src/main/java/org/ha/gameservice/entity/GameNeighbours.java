@@ -0,0 +1,33 @@
+package org.ha.gameservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Precomputed most similar games of one game, best first. The neighbour appIds and
+ * their similarity scores are parallel arrays.
+ */
+@Document(collection = "game_similar")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameNeighbours {
+
+    @Id
+    private Integer appId;
+
+    private List<Integer> neighbours;
+    private List<Float> scores;
+
+    // Rebuild that wrote this document; documents of earlier rebuilds are removed
+    private String runId;
+    private Date computedAt;
+}
@@ -0,0 +1,38 @@
+package org.ha.gameservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.ha.gameservice.entity.Game;
+
+/**
+ * Published when a document of the games collection changes on any instance, as observed
+ * through the MongoDB change stream. In-process caches listen to it to drop or refresh
+ * their entries.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GameChangedEvent {
+
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED,
+        // The stream lost track of changes (collection dropped, history lost); drop everything
+        ALL
+    }
+
+    private final Type type;
+    private final String id;
+    // Partial document (appId, name, recommendations); null for deletes and when unavailable
+    private final Game snapshot;
+
+    public Integer getAppId() {
+        return snapshot != null ? snapshot.getAppId() : null;
+    }
+
+    public static GameChangedEvent all() {
+        return new GameChangedEvent(Type.ALL, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package org.ha.gameservice.repository;
+
+import org.ha.gameservice.entity.GameDetails;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameDetailsRepository extends MongoRepository<GameDetails, Integer> {
+}
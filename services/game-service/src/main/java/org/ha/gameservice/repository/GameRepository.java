@@ -1,44 +1,69 @@
 package org.ha.gameservice.repository;
 
 import org.ha.gameservice.entity.Game;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GameRepository extends MongoRepository<Game, String> {
 
     Optional<Game> findByAppId(Integer appId);
 
-    List<Game> findByType(String type);
+    Slice<Game> findByType(String type, Pageable pageable);
 
-    List<Game> findByIsFree(Boolean isFree);
+    Slice<Game> findByIsFree(Boolean isFree, Pageable pageable);
 
     @Query("{ 'genres.description': ?0 }")
-    List<Game> findByGenre(String genre);
+    Slice<Game> findByGenre(String genre, Pageable pageable);
 
     @Query("{ 'categories.description': ?0 }")
-    List<Game> findByCategory(String category);
+    Slice<Game> findByCategory(String category, Pageable pageable);
 
     @Query("{ 'platforms.windows': true }")
-    List<Game> findWindowsGames();
+    Slice<Game> findWindowsGames(Pageable pageable);
 
     @Query("{ 'platforms.mac': true }")
-    List<Game> findMacGames();
+    Slice<Game> findMacGames(Pageable pageable);
 
     @Query("{ 'platforms.linux': true }")
-    List<Game> findLinuxGames();
+    Slice<Game> findLinuxGames(Pageable pageable);
 
-    @Query("{ 'price_overview.final': { $gte: ?0, $lte: ?1 } }")
-    List<Game> findByPriceRange(Integer minPrice, Integer maxPrice);
+    @Query("{ 'priceOverview.finalPrice': { $gte: ?0, $lte: ?1 } }")
+    Slice<Game> findByPriceRange(Integer minPrice, Integer maxPrice, Pageable pageable);
 
-    @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
-    List<Game> findByNameContaining(String name);
+    // Cursor-backed variants for streaming responses
+    @Query("{ 'type': ?0 }")
+    Stream<Game> streamByType(String type, Sort sort);
+
+    @Query("{ 'isFree': ?0 }")
+    Stream<Game> streamByIsFree(Boolean isFree, Sort sort);
+
+    @Query("{ 'genres.description': ?0 }")
+    Stream<Game> streamByGenre(String genre, Sort sort);
+
+    @Query("{ 'categories.description': ?0 }")
+    Stream<Game> streamByCategory(String category, Sort sort);
+
+    @Query("{ 'platforms.windows': true }")
+    Stream<Game> streamWindowsGames(Sort sort);
+
+    @Query("{ 'platforms.mac': true }")
+    Stream<Game> streamMacGames(Sort sort);
+
+    @Query("{ 'platforms.linux': true }")
+    Stream<Game> streamLinuxGames(Sort sort);
+
+    @Query("{ 'priceOverview.finalPrice': { $gte: ?0, $lte: ?1 } }")
+    Stream<Game> streamByPriceRange(Integer minPrice, Integer maxPrice, Sort sort);
 
     boolean existsByAppId(Integer appId);
 
     void deleteByAppId(Integer appId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package org.ha.gameservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+/**
+ * Bounded access to the single-attribute game finders. Pages are served as slices
+ * (no count query) with an enforced maximum size; streams are cursor-backed and
+ * capped at a configured number of documents.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameBrowseService {
+
+    private final GameRepository gameRepository;
+
+    @Value("${game.listing.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${game.listing.max-stream-size:10000}")
+    private int maxStreamSize;
+
+    public Pageable pageable(int page, int size, String sort, String direction) {
+        int boundedSize = Math.min(Math.max(size, 1), maxPageSize);
+        return PageRequest.of(Math.max(page - 1, 0), boundedSize, sort(sort, direction));
+    }
+
+    // Ties are broken by appId, so games with equal sort values keep their order across pages
+    public Sort sort(String sort, String direction) {
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        return GameFilterField.from(sort).sort(sortDirection);
+    }
+
+    public Slice<Game> findByType(String type, Pageable pageable) {
+        log.debug("Fetching games by type: {}", type);
+        return gameRepository.findByType(type, pageable);
+    }
+
+    public Slice<Game> findByIsFree(Boolean isFree, Pageable pageable) {
+        log.debug("Fetching games by free status: {}", isFree);
+        return gameRepository.findByIsFree(isFree, pageable);
+    }
+
+    public Slice<Game> findByGenre(String genre, Pageable pageable) {
+        log.debug("Fetching games by genre: {}", genre);
+        return gameRepository.findByGenre(genre, pageable);
+    }
+
+    public Slice<Game> findByCategory(String category, Pageable pageable) {
+        log.debug("Fetching games by category: {}", category);
+        return gameRepository.findByCategory(category, pageable);
+    }
+
+    public Slice<Game> findByPlatform(String platform, Pageable pageable) {
+        log.debug("Fetching games by platform: {}", platform);
+        return switch (platform.toLowerCase()) {
+            case "windows" -> gameRepository.findWindowsGames(pageable);
+            case "mac" -> gameRepository.findMacGames(pageable);
+            case "linux" -> gameRepository.findLinuxGames(pageable);
+            default -> throw new IllegalArgumentException("Unsupported platform: " + platform);
+        };
+    }
+
+    public Slice<Game> findByPriceRange(Integer minPrice, Integer maxPrice, Pageable pageable) {
+        log.debug("Fetching games by price range: {} - {}", minPrice, maxPrice);
+        return gameRepository.findByPriceRange(minPrice, maxPrice, pageable);
+    }
+
+    public Stream<Game> streamByType(String type, Sort sort) {
+        return gameRepository.streamByType(type, sort).limit(maxStreamSize);
+    }
+
+    public Stream<Game> streamByIsFree(Boolean isFree, Sort sort) {
+        return gameRepository.streamByIsFree(isFree, sort).limit(maxStreamSize);
+    }
+
+    public Stream<Game> streamByGenre(String genre, Sort sort) {
+        return gameRepository.streamByGenre(genre, sort).limit(maxStreamSize);
+    }
+
+    public Stream<Game> streamByCategory(String category, Sort sort) {
+        return gameRepository.streamByCategory(category, sort).limit(maxStreamSize);
+    }
+
+    public Stream<Game> streamByPlatform(String platform, Sort sort) {
+        Stream<Game> games = switch (platform.toLowerCase()) {
+            case "windows" -> gameRepository.streamWindowsGames(sort);
+            case "mac" -> gameRepository.streamMacGames(sort);
+            case "linux" -> gameRepository.streamLinuxGames(sort);
+            default -> throw new IllegalArgumentException("Unsupported platform: " + platform);
+        };
+        return games.limit(maxStreamSize);
+    }
+
+    public Stream<Game> streamByPriceRange(Integer minPrice, Integer maxPrice, Sort sort) {
+        return gameRepository.streamByPriceRange(minPrice, maxPrice, sort).limit(maxStreamSize);
+    }
+}
@@ -0,0 +1,171 @@
+package org.ha.gameservice.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tails the MongoDB change stream of the games collection and republishes every change as a
+ * {@link GameChangedEvent}, so each game-service instance can evict its local caches as soon
+ * as any instance writes. Requires a replica set; on a standalone server it logs a warning
+ * and stays idle.
+ */
+@Component
+@Slf4j
+public class GameChangeStreamWatcher {
+
+    // Error codes returned by the server when change streams cannot be used or resumed
+    private static final int NOT_A_REPLICA_SET = 40573;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+    private Thread worker;
+
+    public GameChangeStreamWatcher(MongoTemplate mongoTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${game.cache.change-stream.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Games change stream is disabled");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::watch, "games-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                ChangeStreamIterable<Document> changes = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Game.class))
+                        .watch(List.of(Aggregates.project(Projections.include(
+                                "operationType", "documentKey",
+                                "fullDocument.appId", "fullDocument.name", "fullDocument.recommendations"))))
+                        .fullDocument(FullDocument.UPDATE_LOOKUP);
+                if (resumeToken != null) {
+                    changes = changes.resumeAfter(resumeToken);
+                }
+
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> changeCursor = changes.cursor()) {
+                    cursor = changeCursor;
+                    log.info("Watching games change stream");
+                    while (running && changeCursor.hasNext()) {
+                        ChangeStreamDocument<Document> change = changeCursor.next();
+                        resumeToken = change.getResumeToken();
+                        publish(change);
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == NOT_A_REPLICA_SET) {
+                    log.warn("MongoDB is not a replica set, cross-instance cache invalidation is disabled");
+                    running = false;
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Games change stream history lost, clearing local caches");
+                    resumeToken = null;
+                    eventPublisher.publishEvent(GameChangedEvent.all());
+                }
+                retryAfterFailure(e);
+            } catch (RuntimeException e) {
+                retryAfterFailure(e);
+            }
+        }
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        String id = documentId(change.getDocumentKey());
+        Game snapshot = null;
+        if (change.getFullDocument() != null) {
+            snapshot = mongoTemplate.getConverter().read(Game.class, change.getFullDocument());
+            snapshot.setId(id);
+        }
+
+        GameChangedEvent event = switch (change.getOperationType()) {
+            case INSERT -> new GameChangedEvent(GameChangedEvent.Type.INSERTED, id, snapshot);
+            case UPDATE, REPLACE -> new GameChangedEvent(GameChangedEvent.Type.UPDATED, id, snapshot);
+            case DELETE -> new GameChangedEvent(GameChangedEvent.Type.DELETED, id, null);
+            case DROP, DROP_DATABASE, RENAME, INVALIDATE -> {
+                resumeToken = null;
+                yield GameChangedEvent.all();
+            }
+            default -> null;
+        };
+        if (event != null) {
+            log.debug("Games change stream event: {}", event);
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private void retryAfterFailure(RuntimeException e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Games change stream interrupted, retrying in {} ms: {}", RETRY_DELAY_MILLIS, e.getMessage());
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String documentId(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.ha.gameservice.entity.Game;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Computes stable per-field and whole-document hashes of a {@link Game}'s content.
+ * Bookkeeping fields (id, timestamps) are excluded so that re-importing identical
+ * data produces identical hashes.
+ */
+@Component
+public class GameContentHasher {
+
+    private static final Set<String> EXCLUDED_FIELDS = Set.of("id", "createdAt", "updatedAt", "version");
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build();
+
+    /**
+     * Hashes every non-null content field of the game, keyed by property name.
+     */
+    public Map<String, Long> hashFields(Game game) {
+        JsonNode tree = canonicalMapper.valueToTree(game);
+        Map<String, Long> hashes = new TreeMap<>();
+
+        for (Map.Entry<String, JsonNode> field : tree.properties()) {
+            if (EXCLUDED_FIELDS.contains(field.getKey()) || field.getValue().isNull()) {
+                continue;
+            }
+            hashes.put(field.getKey(), digest(serialize(field.getValue())).getLong());
+        }
+        return hashes;
+    }
+
+    /**
+     * Combines field hashes into a single content hash.
+     */
+    public String combine(Map<String, Long> fieldHashes) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(fieldHashes).forEach((field, hash) ->
+                canonical.append(field).append('=').append(hash).append(';'));
+        byte[] bytes = digest(canonical.toString().getBytes(StandardCharsets.UTF_8)).array();
+        return HexFormat.of().formatHex(bytes, 0, 16);
+    }
+
+    /**
+     * Stores field and content hashes on the game before it is written.
+     */
+    public void stamp(Game game) {
+        Map<String, Long> fieldHashes = hashFields(game);
+        game.setFieldHashes(fieldHashes);
+        game.setContentHash(combine(fieldHashes));
+    }
+
+    private byte[] serialize(JsonNode node) {
+        try {
+            return canonicalMapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize game field for hashing", e);
+        }
+    }
+
+    private static ByteBuffer digest(byte[] bytes) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.ha.gameservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves game counts without counting the collection on every request.
+ *
+ * <p>The unfiltered total comes from {@code estimatedDocumentCount} (collection metadata,
+ * no scan) and is reported as approximate. Filtered totals are computed exactly and cached
+ * per normalized filter key; they expire after a TTL and are dropped on every write.</p>
+ */
+@Service
+@Slf4j
+public class GameCountService {
+
+    private final MongoTemplate mongoTemplate;
+    private final long ttlMillis;
+    private final Cache<String, Long> filteredCounts;
+
+    private volatile long cachedTotal;
+    private volatile long expiresAt;
+
+    public GameCountService(MongoTemplate mongoTemplate,
+                            @Value("${game.count.ttl:30s}") Duration ttl,
+                            @Value("${game.count.max-filtered-entries:10000}") long maxFilteredEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttlMillis = ttl.toMillis();
+        this.filteredCounts = Caffeine.newBuilder()
+                .maximumSize(maxFilteredEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long getTotalCount() {
+        long now = System.currentTimeMillis();
+        if (now < expiresAt) {
+            return cachedTotal;
+        }
+        synchronized (this) {
+            if (now < expiresAt) {
+                return cachedTotal;
+            }
+            cachedTotal = mongoTemplate.estimatedCount(Game.class);
+            expiresAt = now + ttlMillis;
+            log.debug("Refreshed estimated games count: {}", cachedTotal);
+            return cachedTotal;
+        }
+    }
+
+    public Long getCachedFilteredCount(String filterKey) {
+        return filteredCounts.getIfPresent(filterKey);
+    }
+
+    public long getFilteredCount(String filterKey, LongSupplier counter) {
+        return filteredCounts.get(filterKey, key -> counter.getAsLong());
+    }
+
+    public void putFilteredCount(String filterKey, long count) {
+        filteredCounts.put(filterKey, count);
+    }
+
+    public void invalidate() {
+        expiresAt = 0;
+        filteredCounts.invalidateAll();
+    }
+
+    public void invalidateFiltered() {
+        filteredCounts.invalidateAll();
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.getType() == GameChangedEvent.Type.UPDATED) {
+            // Updates keep the total but may move documents in or out of a filter
+            invalidateFiltered();
+        } else {
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.dto.CacheStats;
+import org.ha.gameservice.dto.SerializedGame;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded in-process cache of game detail documents, keyed by id with a secondary
+ * appId index. Caffeine's W-TinyLFU policy decides admission and eviction, and entries
+ * are weighted by their serialized size so a few huge documents cannot crowd out
+ * many small ones.
+ *
+ * <p>With {@code game.cache.serialized.enabled} each entry also keeps the JSON bytes of the
+ * game (and a gzip copy above {@code gzip-min-size}), so hot documents are written to the
+ * response without being serialized or compressed again. The bytes live in the same entry
+ * as the entity and are therefore evicted and invalidated together with it.</p>
+ */
+@Component
+@Slf4j
+public class GameDetailCache {
+
+    private final Cache<String, Entry> gamesById;
+    private final Cache<Integer, String> idsByAppId;
+    private final ObjectMapper objectMapper;
+    private final long maxWeight;
+    private final boolean keepSerialized;
+    private final int gzipMinSize;
+    private final LongAdder appIdMisses = new LongAdder();
+    // Bumped before every invalidation, so loads that started earlier can tell they may be stale
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public GameDetailCache(ObjectMapper objectMapper,
+                           @Value("${game.cache.max-weight:64MB}") DataSize maxWeight,
+                           @Value("${game.cache.max-app-ids:100000}") long maxAppIds,
+                           @Value("${game.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                           @Value("${game.cache.serialized.enabled:true}") boolean keepSerialized,
+                           @Value("${game.cache.serialized.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.maxWeight = maxWeight.toBytes();
+        this.keepSerialized = keepSerialized;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.gamesById = Caffeine.newBuilder()
+                .maximumWeight(this.maxWeight)
+                .weigher((String id, Entry entry) -> entry.weight)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.idsByAppId = Caffeine.newBuilder()
+                .maximumSize(maxAppIds)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public Game getById(String id, Supplier<Game> loader) {
+        Entry entry = getEntryById(id, loader);
+        return entry != null ? entry.game : null;
+    }
+
+    public Game getByAppId(Integer appId, Supplier<Game> loader) {
+        Entry entry = getEntryByAppId(appId, loader);
+        return entry != null ? entry.game : null;
+    }
+
+    public SerializedGame getSerializedById(String id, Supplier<Game> loader) {
+        return serialized(getEntryById(id, loader));
+    }
+
+    public SerializedGame getSerializedByAppId(Integer appId, Supplier<Game> loader) {
+        return serialized(getEntryByAppId(appId, loader));
+    }
+
+    // Lookups used for conditional requests; they neither load nor affect statistics
+    public Game peekById(String id) {
+        Entry entry = gamesById.policy().getIfPresentQuietly(id);
+        return entry != null ? entry.game : null;
+    }
+
+    public Game peekByAppId(Integer appId) {
+        String id = idsByAppId.policy().getIfPresentQuietly(appId);
+        Game game = id != null ? peekById(id) : null;
+        return game != null && appId.equals(game.getAppId()) ? game : null;
+    }
+
+    private Entry getEntryById(String id, Supplier<Game> loader) {
+        Entry entry = gamesById.get(id, key -> toEntry(loader.get()));
+        if (entry != null && entry.game.getAppId() != null) {
+            idsByAppId.put(entry.game.getAppId(), id);
+        }
+        return entry;
+    }
+
+    private Entry getEntryByAppId(Integer appId, Supplier<Game> loader) {
+        String id = idsByAppId.getIfPresent(appId);
+        if (id != null) {
+            Entry entry = getEntryById(id, loader);
+            if (entry == null || appId.equals(entry.game.getAppId())) {
+                return entry;
+            }
+            // The document behind this id changed its appId; drop the stale mapping
+            idsByAppId.invalidate(appId);
+        }
+
+        // The id is not known yet, so this miss is not seen by the primary cache's statistics
+        appIdMisses.increment();
+        long generation = invalidations.get();
+        Entry loaded = toEntry(loader.get());
+        if (loaded == null || loaded.game.getId() == null) {
+            return loaded;
+        }
+        // A write invalidating while the document was loaded wins; the load is then served but not cached
+        Entry cached = gamesById.asMap().compute(loaded.game.getId(), (key, existing) ->
+                existing != null ? existing : invalidations.get() == generation ? loaded : null);
+        idsByAppId.put(appId, loaded.game.getId());
+        return cached != null ? cached : loaded;
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            invalidations.incrementAndGet();
+            gamesById.invalidate(id);
+        }
+    }
+
+    public void invalidateAppId(Integer appId) {
+        if (appId == null) {
+            return;
+        }
+        String id = idsByAppId.getIfPresent(appId);
+        idsByAppId.invalidate(appId);
+        invalidate(id);
+    }
+
+    public void invalidateAppIds(Collection<Integer> appIds) {
+        appIds.forEach(this::invalidateAppId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        gamesById.invalidateAll();
+        idsByAppId.invalidateAll();
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.getType() == GameChangedEvent.Type.ALL) {
+            invalidateAll();
+            return;
+        }
+        invalidate(event.getId());
+        invalidateAppId(event.getAppId());
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = gamesById.stats();
+        long misses = stats.missCount() + appIdMisses.sum();
+        long requests = stats.hitCount() + misses;
+        return CacheStats.builder()
+                .hits(stats.hitCount())
+                .misses(misses)
+                .hitRate(requests == 0 ? 1.0 : (double) stats.hitCount() / requests)
+                .evictions(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .entries(gamesById.estimatedSize())
+                .weightedSize(gamesById.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .maxWeight(maxWeight)
+                .build();
+    }
+
+    private Entry toEntry(Game game) {
+        if (game == null) {
+            return null;
+        }
+        byte[] json = serialize(game);
+        if (json == null) {
+            return new Entry(game, null, 1);
+        }
+        if (!keepSerialized) {
+            // The bytes were only needed for weighing
+            return new Entry(game, null, json.length);
+        }
+        SerializedGame serialized = new SerializedGame(json, json.length >= gzipMinSize ? gzip(json) : null);
+        return new Entry(game, serialized, serialized.weight());
+    }
+
+    private SerializedGame serialized(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.serialized != null) {
+            return entry.serialized;
+        }
+        byte[] json = serialize(entry.game);
+        if (json == null) {
+            throw new IllegalStateException("Game " + entry.game.getAppId() + " cannot be serialized");
+        }
+        return new SerializedGame(json, null);
+    }
+
+    private byte[] serialize(Game game) {
+        try {
+            return objectMapper.writeValueAsBytes(game);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize game {}: {}", game.getAppId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private record Entry(Game game, SerializedGame serialized, int weight) {
+    }
+}
@@ -0,0 +1,299 @@
+package org.ha.gameservice.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.ha.gameservice.dto.DetailsMigrationResult;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.entity.GameDetails;
+import org.ha.gameservice.repository.GameDetailsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Storage of the heavy {@link Game} fields in the companion {@code game_details} collection.
+ *
+ * <p>With {@code game.storage.split-details} enabled, writes keep the games document compact
+ * and put the detail fields into {@link GameDetails}; listings never read them and the detail
+ * lookup merges them back in. Documents written before the split keep their fields inline
+ * until {@link #migrate(int)} moves them, and reads accept both layouts meanwhile.</p>
+ */
+@Service
+@Slf4j
+public class GameDetailsService {
+
+    public static final Set<String> DETAIL_FIELDS = Set.of(
+            "detailedDescription", "aboutTheGame",
+            "pcRequirements", "macRequirements", "linuxRequirements",
+            "packageGroups", "movies");
+
+    private final GameDetailsRepository gameDetailsRepository;
+    private final MongoTemplate mongoTemplate;
+    private final boolean splitEnabled;
+
+    public GameDetailsService(GameDetailsRepository gameDetailsRepository,
+                              MongoTemplate mongoTemplate,
+                              @Value("${game.storage.split-details:false}") boolean splitEnabled) {
+        this.gameDetailsRepository = gameDetailsRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.splitEnabled = splitEnabled;
+    }
+
+    public boolean isSplitEnabled() {
+        return splitEnabled;
+    }
+
+    public boolean isStoredSeparately(String field) {
+        return splitEnabled && DETAIL_FIELDS.contains(field);
+    }
+
+    /**
+     * Moves the detail fields out of the game and clears them on it, so only the compact
+     * document is written to the games collection. Returns null when the split is disabled.
+     */
+    public GameDetails detach(Game game) {
+        if (!splitEnabled) {
+            return null;
+        }
+        GameDetails details = copyOf(game);
+        apply(game, GameDetails.builder().build());
+        return details;
+    }
+
+    /**
+     * Copies the detail fields onto the game. Stored details win over inline values, which
+     * can only be left over from before the split.
+     */
+    public Game attach(Game game, GameDetails details) {
+        if (game != null && details != null) {
+            apply(game, merge(copyOf(game), details));
+        }
+        return game;
+    }
+
+    public Game loadDetails(Game game) {
+        if (!splitEnabled || game == null || game.getAppId() == null) {
+            return game;
+        }
+        return attach(game, gameDetailsRepository.findById(game.getAppId()).orElse(null));
+    }
+
+    /**
+     * Details of a single game in either layout, without loading the rest of the document.
+     */
+    public Optional<GameDetails> findByAppId(Integer appId) {
+        Query query = new Query(Criteria.where("appId").is(appId));
+        query.fields().include("appId", "updatedAt").include(DETAIL_FIELDS.toArray(String[]::new));
+        Game inline = mongoTemplate.findOne(query, Game.class);
+        if (inline == null) {
+            return Optional.empty();
+        }
+
+        GameDetails details = copyOf(inline);
+        if (splitEnabled) {
+            gameDetailsRepository.findById(appId).ifPresent(stored -> merge(details, stored));
+        }
+        return Optional.of(details);
+    }
+
+    public void save(GameDetails details) {
+        if (details != null) {
+            gameDetailsRepository.save(details);
+        }
+    }
+
+    /**
+     * Replaces the details of the given games in one unordered bulk write.
+     *
+     * @return appIds whose details could not be written
+     */
+    public Set<Integer> saveAll(List<GameDetails> details) {
+        if (details.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameDetails.class);
+        for (GameDetails entry : details) {
+            bulkOps.replaceOne(new Query(Criteria.where("appId").is(entry.getAppId())), entry,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        return execute(bulkOps, details, GameDetails::getAppId);
+    }
+
+    /**
+     * Applies partial detail updates, keyed by appId, in one unordered bulk upsert.
+     *
+     * @return appIds whose details could not be written
+     */
+    public Set<Integer> applyUpdates(Map<Integer, Update> updates) {
+        if (updates.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameDetails.class);
+        List<Integer> appIds = new ArrayList<>(updates.keySet());
+        for (Integer appId : appIds) {
+            bulkOps.upsert(new Query(Criteria.where("appId").is(appId)), updates.get(appId));
+        }
+        return execute(bulkOps, appIds, Function.identity());
+    }
+
+    public void update(Integer appId, Update update) {
+        mongoTemplate.upsert(new Query(Criteria.where("appId").is(appId)), update, GameDetails.class);
+    }
+
+    public void delete(Integer appId) {
+        if (appId != null) {
+            gameDetailsRepository.deleteById(appId);
+        }
+    }
+
+    /**
+     * Moves inline detail fields of existing games into {@code game_details}, in batches
+     * walked by id. A game is only stripped if it did not change since it was read; games
+     * changed meanwhile are reported as skipped and moved by the next run. The games
+     * collection keeps its allocated size until it is compacted.
+     */
+    public DetailsMigrationResult migrate(int batchSize) {
+        if (!splitEnabled) {
+            throw new IllegalStateException("Split detail storage is disabled");
+        }
+        log.info("Migrating inline game details, batch size: {}", batchSize);
+
+        DetailsMigrationResult result = new DetailsMigrationResult();
+        Criteria inline = new Criteria().orOperator(DETAIL_FIELDS.stream()
+                .map(field -> Criteria.where(field).exists(true))
+                .toArray(Criteria[]::new));
+        ObjectId lastId = null;
+
+        while (true) {
+            Query query = new Query(inline).with(Sort.by(Sort.Direction.ASC, "id")).limit(batchSize);
+            if (lastId != null) {
+                query.addCriteria(Criteria.where("id").gt(lastId));
+            }
+            query.fields().include("appId", "updatedAt", "contentHash").include(DETAIL_FIELDS.toArray(String[]::new));
+            List<Game> batch = mongoTemplate.find(query, Game.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = new ObjectId(batch.get(batch.size() - 1).getId());
+            result.setScanned(result.getScanned() + batch.size());
+            migrateBatch(batch, result);
+        }
+
+        log.info("Details migration finished, scanned: {}, migrated: {}, skipped: {}, failed: {}",
+                result.getScanned(), result.getMigrated(), result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    private void migrateBatch(List<Game> batch, DetailsMigrationResult result) {
+        // Fields already written to game_details are newer than the inline copies
+        Map<Integer, GameDetails> stored = gameDetailsRepository.findAllById(batch.stream().map(Game::getAppId).toList())
+                .stream()
+                .collect(Collectors.toMap(GameDetails::getAppId, Function.identity()));
+        List<GameDetails> details = batch.stream()
+                .map(game -> merge(copyOf(game), stored.get(game.getAppId())))
+                .toList();
+        Set<Integer> failedAppIds = saveAll(details);
+        result.setFailed(result.getFailed() + failedAppIds.size());
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class);
+        Update unset = new Update();
+        DETAIL_FIELDS.forEach(unset::unset);
+        int queued = 0;
+        for (Game game : batch) {
+            if (!failedAppIds.contains(game.getAppId())) {
+                bulkOps.updateOne(new Query(Criteria.where("id").is(game.getId())
+                        .and("contentHash").is(game.getContentHash())), unset);
+                queued++;
+            }
+        }
+        if (queued == 0) {
+            return;
+        }
+
+        try {
+            int matched = bulkOps.execute().getMatchedCount();
+            result.setMigrated(result.getMigrated() + matched);
+            result.setSkipped(result.getSkipped() + queued - matched);
+        } catch (BulkOperationException e) {
+            int matched = e.getResult().getMatchedCount();
+            result.setMigrated(result.getMigrated() + matched);
+            result.setFailed(result.getFailed() + e.getErrors().size());
+            result.setSkipped(result.getSkipped() + queued - matched - e.getErrors().size());
+        }
+    }
+
+    private <T> Set<Integer> execute(BulkOperations bulkOps, List<T> entries, Function<T, Integer> appIdOf) {
+        try {
+            bulkOps.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                Integer appId = appIdOf.apply(entries.get(error.getIndex()));
+                log.error("Failed to write details of game with appId {}: {}", appId, error.getMessage());
+                failed.add(appId);
+            }
+            return failed;
+        }
+    }
+
+    private static GameDetails merge(GameDetails target, GameDetails newer) {
+        if (newer == null) {
+            return target;
+        }
+        target.setDetailedDescription(firstNonNull(newer.getDetailedDescription(), target.getDetailedDescription()));
+        target.setAboutTheGame(firstNonNull(newer.getAboutTheGame(), target.getAboutTheGame()));
+        target.setPcRequirements(firstNonNull(newer.getPcRequirements(), target.getPcRequirements()));
+        target.setMacRequirements(firstNonNull(newer.getMacRequirements(), target.getMacRequirements()));
+        target.setLinuxRequirements(firstNonNull(newer.getLinuxRequirements(), target.getLinuxRequirements()));
+        target.setPackageGroups(firstNonNull(newer.getPackageGroups(), target.getPackageGroups()));
+        target.setMovies(firstNonNull(newer.getMovies(), target.getMovies()));
+        target.setUpdatedAt(firstNonNull(newer.getUpdatedAt(), target.getUpdatedAt()));
+        return target;
+    }
+
+    private static <T> T firstNonNull(T first, T second) {
+        return first != null ? first : second;
+    }
+
+    private static void apply(Game game, GameDetails details) {
+        game.setDetailedDescription(details.getDetailedDescription());
+        game.setAboutTheGame(details.getAboutTheGame());
+        game.setPcRequirements(details.getPcRequirements());
+        game.setMacRequirements(details.getMacRequirements());
+        game.setLinuxRequirements(details.getLinuxRequirements());
+        game.setPackageGroups(details.getPackageGroups());
+        game.setMovies(details.getMovies());
+    }
+
+    private static GameDetails copyOf(Game game) {
+        return GameDetails.builder()
+                .appId(game.getAppId())
+                .detailedDescription(game.getDetailedDescription())
+                .aboutTheGame(game.getAboutTheGame())
+                .pcRequirements(game.getPcRequirements())
+                .macRequirements(game.getMacRequirements())
+                .linuxRequirements(game.getLinuxRequirements())
+                .packageGroups(game.getPackageGroups())
+                .movies(game.getMovies())
+                .updatedAt(game.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.ha.gameservice.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Whitelist of {@link org.ha.gameservice.entity.Game} fields that clients may filter and sort on,
+ * mapped from their public names to entity property paths.
+ */
+public enum GameFilterField {
+    APP_ID("appId", "appId", ValueType.INTEGER),
+    TYPE("type", "type", ValueType.STRING),
+    NAME("name", "name", ValueType.STRING),
+    IS_FREE("isFree", "isFree", ValueType.BOOLEAN),
+    REQUIRED_AGE("requiredAge", "requiredAge", ValueType.INTEGER),
+    GENRE("genre", "genres.description", ValueType.STRING),
+    CATEGORY("category", "categories.description", ValueType.STRING),
+    DEVELOPER("developer", "developers", ValueType.STRING),
+    PUBLISHER("publisher", "publishers", ValueType.STRING),
+    WINDOWS("windows", "platforms.windows", ValueType.BOOLEAN),
+    MAC("mac", "platforms.mac", ValueType.BOOLEAN),
+    LINUX("linux", "platforms.linux", ValueType.BOOLEAN),
+    PRICE("price", "priceOverview.finalPrice", ValueType.INTEGER),
+    DISCOUNT("discount", "priceOverview.discountPercent", ValueType.INTEGER),
+    COMING_SOON("comingSoon", "releaseDate.comingSoon", ValueType.BOOLEAN),
+    METACRITIC("metacritic", "metacritic.score", ValueType.INTEGER),
+    RECOMMENDATIONS("recommendations", "recommendations.total", ValueType.INTEGER);
+
+    public enum ValueType {
+        STRING,
+        INTEGER,
+        BOOLEAN
+    }
+
+    private static final Map<String, GameFilterField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(GameFilterField::getName, Function.identity()));
+
+    private final String name;
+    private final String property;
+    private final ValueType type;
+
+    GameFilterField(String name, String property, ValueType type) {
+        this.name = name;
+        this.property = property;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public ValueType getType() {
+        return type;
+    }
+
+    public static GameFilterField from(String name) {
+        GameFilterField field = name != null ? BY_NAME.get(name) : null;
+        if (field == null) {
+            throw new IllegalArgumentException("Unsupported filter field: " + name);
+        }
+        return field;
+    }
+
+    /**
+     * Sort on this field, ties broken by the unique appId so equal values keep the same order on every page.
+     */
+    public Sort sort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return this == APP_ID ? sort : sort.and(Sort.by(Sort.Direction.ASC, APP_ID.property));
+    }
+
+    public Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (type) {
+            case STRING -> value.toString();
+            case INTEGER -> value instanceof Number number
+                    ? Integer.valueOf(number.intValue())
+                    : Integer.valueOf(value.toString().trim());
+            case BOOLEAN -> value instanceof Boolean bool ? bool : Boolean.valueOf(value.toString().trim());
+        };
+    }
+}
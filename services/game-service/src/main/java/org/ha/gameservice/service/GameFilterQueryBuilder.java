@@ -0,0 +1,87 @@
+package org.ha.gameservice.service;
+
+import org.ha.commons.dto.request.FilterRequest;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Translates a {@link FilterRequest} into a single MongoDB {@link Criteria}.
+ * Only fields listed in {@link GameFilterField} are accepted.
+ */
+@Component
+public class GameFilterQueryBuilder {
+
+    public Criteria build(FilterRequest filterRequest) {
+        if (filterRequest == null || filterRequest.getFilters() == null || filterRequest.getFilters().isEmpty()) {
+            return new Criteria();
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        for (FilterRequest.FilterCriteria filter : filterRequest.getFilters()) {
+            criteria.add(toCriteria(filter));
+        }
+        // andOperator allows several conditions on the same field (e.g. price range)
+        return new Criteria().andOperator(criteria);
+    }
+
+    /**
+     * Builds a cache key that is identical for filter requests with the same conditions,
+     * regardless of their order or operator casing.
+     */
+    public String normalizeKey(FilterRequest filterRequest) {
+        if (filterRequest == null || filterRequest.getFilters() == null) {
+            return "filter:";
+        }
+        return filterRequest.getFilters().stream()
+                .map(filter -> GameFilterField.from(filter.getField()).getName()
+                        + ":" + (filter.getOperator() != null ? filter.getOperator().toLowerCase() : "eq")
+                        + ":" + filter.getValue())
+                .sorted()
+                .collect(Collectors.joining("|", "filter:", ""));
+    }
+
+    private Criteria toCriteria(FilterRequest.FilterCriteria filter) {
+        GameFilterField field = GameFilterField.from(filter.getField());
+        String operator = filter.getOperator() != null ? filter.getOperator().toLowerCase() : "eq";
+        Criteria criteria = Criteria.where(field.getProperty());
+
+        try {
+            return switch (operator) {
+                case "eq" -> criteria.is(field.convert(filter.getValue()));
+                case "ne" -> criteria.ne(field.convert(filter.getValue()));
+                case "gt" -> criteria.gt(field.convert(filter.getValue()));
+                case "gte" -> criteria.gte(field.convert(filter.getValue()));
+                case "lt" -> criteria.lt(field.convert(filter.getValue()));
+                case "lte" -> criteria.lte(field.convert(filter.getValue()));
+                case "in" -> criteria.in(convertAll(field, filter.getValue()));
+                case "like" -> {
+                    if (field.getType() != GameFilterField.ValueType.STRING) {
+                        throw new IllegalArgumentException("Operator 'like' requires a text field: " + field.getName());
+                    }
+                    yield criteria.regex(Pattern.quote(String.valueOf(filter.getValue())), "i");
+                }
+                default -> throw new IllegalArgumentException("Unsupported filter operator: " + filter.getOperator());
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for filter field " + field.getName() + ": " + filter.getValue());
+        }
+    }
+
+    private List<Object> convertAll(GameFilterField field, Object value) {
+        List<Object> values = new ArrayList<>();
+        if (value instanceof Collection<?> collection) {
+            collection.forEach(item -> values.add(field.convert(item)));
+        } else if (value != null) {
+            for (String item : value.toString().split(",")) {
+                values.add(field.convert(item));
+            }
+        }
+        return values;
+    }
+}
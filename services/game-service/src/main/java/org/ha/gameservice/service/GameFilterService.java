@@ -0,0 +1,154 @@
+package org.ha.gameservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.ha.commons.dto.request.FilterRequest;
+import org.ha.commons.dto.response.PageResponse;
+import org.ha.gameservice.dto.GameFacets;
+import org.ha.gameservice.dto.GameFilterResult;
+import org.ha.gameservice.dto.GameSummary;
+import org.ha.gameservice.dto.GameView;
+import org.ha.gameservice.entity.Game;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combined filtering of games. Matching documents, the total count and facet counts
+ * (genres, categories, platforms, price buckets) are computed by one {@code $facet}
+ * aggregation, i.e. in a single round trip. The {@code $match} and {@code $sort} ahead of
+ * it are the shapes registered in {@link org.ha.gameservice.config.GameIndexes}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameFilterService {
+
+    private static final int MAX_FACET_VALUES = 50;
+    static final Object[] PRICE_BOUNDARIES = {0, 1, 500, 1000, 2000, 4000, 6000, Integer.MAX_VALUE};
+    static final String UNPRICED_BUCKET = "unpriced";
+    static final List<String> PLATFORMS = List.of("windows", "mac", "linux");
+
+    private final MongoTemplate mongoTemplate;
+    private final GameFilterQueryBuilder gameFilterQueryBuilder;
+    private final GameCountService gameCountService;
+
+    public GameFilterResult filter(FilterRequest filterRequest, int page, int size, String sort, String direction,
+                                   GameView view, boolean includeFacets) {
+        Criteria criteria = gameFilterQueryBuilder.build(filterRequest);
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        GameFilterField sortField = GameFilterField.from(sort);
+        log.debug("Filtering games, page: {}, size: {}, sort: {} {}", page, size, sortField.getProperty(), sortDirection);
+
+        List<AggregationOperation> resultStages = new ArrayList<>(List.of(
+                Aggregation.skip((long) (page - 1) * size),
+                Aggregation.limit(size)
+        ));
+        if (view == GameView.SUMMARY) {
+            resultStages.add(Aggregation.project(GameSummary.FIELDS.stream()
+                    .filter(field -> !"id".equals(field))
+                    .toArray(String[]::new)));
+        }
+
+        // The total is only counted when no cached value exists for the same filter
+        String countKey = gameFilterQueryBuilder.normalizeKey(filterRequest);
+        Long cachedTotal = gameCountService.getCachedFilteredCount(countKey);
+
+        FacetOperation facet = Aggregation.facet(resultStages.toArray(AggregationOperation[]::new)).as("results");
+        if (cachedTotal == null) {
+            facet = facet.and(Aggregation.count().as("total")).as("total");
+        }
+        if (includeFacets) {
+            facet = facet
+                    .and(Aggregation.unwind("genres"),
+                            Aggregation.sortByCount("genres.description"),
+                            Aggregation.limit(MAX_FACET_VALUES)).as("genres")
+                    .and(Aggregation.unwind("categories"),
+                            Aggregation.sortByCount("categories.description"),
+                            Aggregation.limit(MAX_FACET_VALUES)).as("categories")
+                    .and(Aggregation.group()
+                            .sum(platformFlag("windows")).as("windows")
+                            .sum(platformFlag("mac")).as("mac")
+                            .sum(platformFlag("linux")).as("linux")).as("platforms")
+                    .and(Aggregation.bucket("priceOverview.finalPrice")
+                            .withBoundaries(PRICE_BOUNDARIES)
+                            .withDefaultBucket(UNPRICED_BUCKET)
+                            .andOutputCount().as("count")).as("priceBuckets");
+        }
+
+        // Sorted ahead of $facet, whose sub-pipelines cannot use indexes; facet counts ignore the order
+        TypedAggregation<Game> aggregation = Aggregation.newAggregation(Game.class,
+                        Aggregation.match(criteria), Aggregation.sort(sortField.sort(sortDirection)), facet)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            result = new Document();
+        }
+
+        Class<?> resultType = view == GameView.SUMMARY ? GameSummary.class : Game.class;
+        List<Object> games = new ArrayList<>();
+        for (Document document : result.getList("results", Document.class, List.of())) {
+            games.add(mongoTemplate.getConverter().read(resultType, document));
+        }
+        long totalElements;
+        if (cachedTotal != null) {
+            totalElements = cachedTotal;
+        } else {
+            List<Document> total = result.getList("total", Document.class, List.of());
+            totalElements = total.isEmpty() ? 0 : total.get(0).get("total", Number.class).longValue();
+            gameCountService.putFilteredCount(countKey, totalElements);
+        }
+
+        return GameFilterResult.builder()
+                .games(games)
+                .pagination(PageResponse.of(games, page - 1, size, totalElements).getPagination())
+                .facets(includeFacets ? readFacets(result) : null)
+                .build();
+    }
+
+    static ConditionalOperators.Cond platformFlag(String platform) {
+        return ConditionalOperators.when(Criteria.where("platforms." + platform).is(true))
+                .then(1)
+                .otherwise(0);
+    }
+
+    private GameFacets readFacets(Document result) {
+        Map<String, Long> platforms = new LinkedHashMap<>();
+        List<Document> platformCounts = result.getList("platforms", Document.class, List.of());
+        for (String platform : PLATFORMS) {
+            Number count = platformCounts.isEmpty() ? null : platformCounts.get(0).get(platform, Number.class);
+            platforms.put(platform, count != null ? count.longValue() : 0L);
+        }
+
+        return GameFacets.builder()
+                .genres(readCounts(result, "genres"))
+                .categories(readCounts(result, "categories"))
+                .platforms(platforms)
+                .priceBuckets(readCounts(result, "priceBuckets"))
+                .build();
+    }
+
+    private List<GameFacets.FacetCount> readCounts(Document result, String facet) {
+        List<GameFacets.FacetCount> counts = new ArrayList<>();
+        for (Document bucket : result.getList(facet, Document.class, List.of())) {
+            counts.add(GameFacets.FacetCount.builder()
+                    .value(String.valueOf(bucket.get("_id")))
+                    .count(bucket.get("count", Number.class).longValue())
+                    .build());
+        }
+        return counts;
+    }
+}
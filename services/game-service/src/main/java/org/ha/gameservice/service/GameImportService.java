@@ -0,0 +1,110 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.dto.BulkImportResult;
+import org.ha.gameservice.dto.ImportMode;
+import org.ha.gameservice.entity.Game;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Imports games from newline-delimited JSON streams. Records are parsed one at a
+ * time and written in fixed-size batches; the next batch is only read once the
+ * previous one has been written, so memory use does not depend on upload size.
+ */
+@Service
+@Slf4j
+public class GameImportService {
+
+    private final GameService gameService;
+    private final ObjectReader gameReader;
+    private final int batchSize;
+
+    public GameImportService(GameService gameService,
+                             ObjectMapper objectMapper,
+                             @Value("${game.bulk.chunk-size:1000}") int batchSize) {
+        this.gameService = gameService;
+        this.gameReader = objectMapper.readerFor(Game.class);
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportResult importNdjson(InputStream inputStream, boolean gzip, ImportMode mode) throws IOException {
+        log.info("Starting NDJSON games import, mode: {}, gzip: {}, batch size: {}", mode, gzip, batchSize);
+        long startTime = System.currentTimeMillis();
+
+        BulkImportResult result = new BulkImportResult();
+        List<Game> batch = new ArrayList<>(batchSize);
+        int batchNumber = 0;
+
+        InputStream source;
+        try {
+            source = gzip ? new GZIPInputStream(inputStream) : inputStream;
+        } catch (ZipException | EOFException e) {
+            throw new MalformedImportException("Request body is not gzip compressed: " + e.getMessage(),
+                    0, result, e);
+        }
+        try (MappingIterator<Game> records = gameReader.readValues(source)) {
+            while (true) {
+                Game game;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    game = records.nextValue();
+                } catch (IOException | RuntimeJsonMappingException e) {
+                    // Records before the bad line are kept, so a client can fix it and resume from there
+                    if (!batch.isEmpty()) {
+                        writeBatch(batch, mode, result, ++batchNumber);
+                    }
+                    throw malformed(records, result, e);
+                }
+                batch.add(game);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, mode, result, ++batchNumber);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, mode, result, ++batchNumber);
+            }
+        }
+
+        log.info("NDJSON games import finished in {} ms, inserted: {}, updated: {}, unchanged: {}, skipped: {}, failed: {}",
+                System.currentTimeMillis() - startTime, result.getInserted(), result.getUpdated(),
+                result.getUnchanged(), result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    private MalformedImportException malformed(MappingIterator<Game> records, BulkImportResult result, Exception e) {
+        // RuntimeJsonMappingException only wraps the JsonMappingException that carries the location
+        Throwable cause = e instanceof RuntimeJsonMappingException ? e.getCause() : e;
+        JsonProcessingException parseError = cause instanceof JsonProcessingException processing ? processing : null;
+        JsonLocation location = parseError != null && parseError.getLocation() != null
+                ? parseError.getLocation() : records.getCurrentLocation();
+        long line = location != null ? location.getLineNr() : -1;
+        String reason = parseError != null ? parseError.getOriginalMessage() : e.getMessage();
+        return new MalformedImportException("Malformed NDJSON at line " + line + " after "
+                + result.getRequested() + " imported records: " + reason, line, result, e);
+    }
+
+    private void writeBatch(List<Game> batch, ImportMode mode, BulkImportResult result, int batchNumber) {
+        result.merge(mode == ImportMode.UPSERT ? gameService.upsertGames(batch) : gameService.createGames(batch));
+        batch.clear();
+        log.info("Imported batch {}, processed: {}, inserted: {}, updated: {}, unchanged: {}, skipped: {}, failed: {}",
+                batchNumber, result.getRequested(), result.getInserted(), result.getUpdated(),
+                result.getUnchanged(), result.getSkipped(), result.getFailed());
+    }
+}
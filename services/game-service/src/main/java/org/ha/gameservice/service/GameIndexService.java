@@ -0,0 +1,98 @@
+package org.ha.gameservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.ha.gameservice.config.GameIndexes;
+import org.ha.gameservice.dto.QueryPlanReport;
+import org.ha.gameservice.entity.Game;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the games collection indexes and verifies, through {@code explain()}, that the
+ * registered query shapes are answered by an index rather than a collection scan, and
+ * in index order rather than by an in-memory sort.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameIndexService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Game.class);
+        for (IndexDefinition definition : GameIndexes.definitions()) {
+            try {
+                String name = indexOps.createIndex(definition);
+                log.debug("Ensured games index: {}", name);
+            } catch (RuntimeException e) {
+                log.error("Failed to create games index {}: {}", definition.getIndexKeys(), e.getMessage());
+            }
+        }
+        log.info("Ensured {} games indexes", GameIndexes.definitions().size());
+    }
+
+    public List<QueryPlanReport> checkQueryPlans() {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Game.class);
+
+        List<QueryPlanReport> reports = new ArrayList<>();
+        for (Map.Entry<String, Query> registered : GameIndexes.registeredQueries().entrySet()) {
+            Query query = registered.getValue();
+            Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Game.class))
+                    .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                    .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                    .explain();
+
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            List<String> stages = new ArrayList<>();
+            List<String> indexes = new ArrayList<>();
+            collectPlan(winningPlan, stages, indexes);
+
+            boolean collectionScan = stages.contains("COLLSCAN");
+            if (collectionScan) {
+                log.warn("Registered games query '{}' falls back to COLLSCAN", registered.getKey());
+            }
+            boolean blockingSort = stages.contains("SORT");
+            if (blockingSort) {
+                log.warn("Registered games query '{}' sorts in memory", registered.getKey());
+            }
+            reports.add(QueryPlanReport.builder()
+                    .query(registered.getKey())
+                    .collectionScan(collectionScan)
+                    .blockingSort(blockingSort)
+                    .indexes(indexes)
+                    .build());
+        }
+        return reports;
+    }
+
+    // Walks classic (inputStage/inputStages) and SBE (queryPlan) plan shapes alike
+    private void collectPlan(Object node, List<String> stages, List<String> indexes) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage != null) {
+                stages.add(stage.toString());
+            }
+            Object indexName = document.get("indexName");
+            if (indexName != null && !indexes.contains(indexName.toString())) {
+                indexes.add(indexName.toString());
+            }
+            document.values().forEach(value -> collectPlan(value, stages, indexes));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectPlan(value, stages, indexes));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.ha.gameservice.entity.Game;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Translates a JSON merge patch (RFC 7396) of a {@link Game} into field-level
+ * {@code $set}/{@code $unset} operations. Members of nested objects and maps are merged
+ * path by path; arrays and scalars replace the stored value; {@code null} removes it.
+ */
+@Component
+@RequiredArgsConstructor
+public class GamePatchBuilder {
+
+    // Bookkeeping and derived fields are maintained by the service; appId is the import key
+    private static final Set<String> PROTECTED_FIELDS = Set.of(
+            "id", "appId", "nameLower", "contentHash", "fieldHashes", "version", "createdAt", "updatedAt");
+
+    private static final Map<String, Field> PATCHABLE_FIELDS = Arrays.stream(Game.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .filter(field -> !PROTECTED_FIELDS.contains(field.getName()))
+            .collect(Collectors.toUnmodifiableMap(Field::getName, Function.identity()));
+
+    private static final Set<String> REQUIRED_FIELDS = PATCHABLE_FIELDS.values().stream()
+            .filter(field -> field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(NotBlank.class))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final ObjectMapper objectMapper;
+    private final GameDetailsService gameDetailsService;
+
+    /**
+     * Operations of a merge patch, split by the collection that stores each field.
+     *
+     * @param update        operations on the games document
+     * @param detailsUpdate operations on the game_details document, empty unless details are split off
+     * @param fields        top-level fields touched by the patch
+     */
+    public record GamePatch(Update update, Update detailsUpdate, Set<String> fields) {
+
+        public boolean hasDetailChanges() {
+            return !detailsUpdate.getUpdateObject().isEmpty();
+        }
+    }
+
+    public GamePatch build(JsonNode patch) {
+        if (patch == null || !patch.isObject() || patch.isEmpty()) {
+            throw new IllegalArgumentException("Merge patch must be a non-empty JSON object");
+        }
+
+        Update update = new Update();
+        Update detailsUpdate = new Update();
+        Set<String> fields = new TreeSet<>();
+        for (Map.Entry<String, JsonNode> member : patch.properties()) {
+            Field field = PATCHABLE_FIELDS.get(member.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Field cannot be patched: " + member.getKey());
+            }
+            if (member.getValue().isNull() && REQUIRED_FIELDS.contains(field.getName())) {
+                throw new IllegalArgumentException("Required field cannot be removed: " + field.getName());
+            }
+            Update target = gameDetailsService.isStoredSeparately(field.getName()) ? detailsUpdate : update;
+            apply(target, field.getName(), field.getGenericType(), member.getValue());
+            fields.add(field.getName());
+        }
+        return new GamePatch(update, detailsUpdate, fields);
+    }
+
+    private void apply(Update update, String path, Type type, JsonNode value) {
+        if (value.isNull()) {
+            update.unset(path);
+            return;
+        }
+
+        Class<?> rawType = rawType(type);
+        if (!value.isObject() || !isMergeable(rawType)) {
+            update.set(path, convert(value, type, path));
+            return;
+        }
+        for (Map.Entry<String, JsonNode> member : value.properties()) {
+            String key = member.getKey();
+            if (key.isEmpty() || key.contains(".") || key.startsWith("$")) {
+                throw new IllegalArgumentException("Invalid field name in patch: " + path + "." + key);
+            }
+            apply(update, path + "." + key, memberType(type, rawType, key, path), member.getValue());
+        }
+    }
+
+    private Object convert(JsonNode value, Type type, String path) {
+        try {
+            return objectMapper.convertValue(value, objectMapper.constructType(type));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + path + ": " + e.getMessage());
+        }
+    }
+
+    // Nested entity classes and maps are merged member by member
+    private static boolean isMergeable(Class<?> type) {
+        return Map.class.isAssignableFrom(type)
+                || (type.getName().startsWith(Game.class.getName() + "$") && !type.isEnum());
+    }
+
+    private static Type memberType(Type type, Class<?> rawType, String key, String path) {
+        if (Map.class.isAssignableFrom(rawType)) {
+            return type instanceof ParameterizedType parameterized
+                    ? parameterized.getActualTypeArguments()[1]
+                    : Object.class;
+        }
+        try {
+            Field field = rawType.getDeclaredField(key);
+            if (Modifier.isStatic(field.getModifiers())) {
+                throw new NoSuchFieldException(key);
+            }
+            return field.getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Unknown field in patch: " + path + "." + key);
+        }
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        return Object.class;
+    }
+}
@@ -0,0 +1,225 @@
+package org.ha.gameservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.dto.PriceUpdate;
+import org.ha.gameservice.dto.PriceUpdateJob;
+import org.ha.gameservice.dto.PriceUpdateResult;
+import org.ha.gameservice.entity.Game;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Applies bulk price changes to {@code priceOverview} with chunked, unordered bulk writes of
+ * targeted {@code $set}s, either immediately or at a scheduled instant. Scheduled jobs are
+ * held in memory by the instance that accepted them, so they do not survive a restart.
+ */
+@Service
+@Slf4j
+public class GamePriceUpdateService {
+
+    private final MongoTemplate mongoTemplate;
+    private final GameDetailCache gameDetailCache;
+    private final GameCountService gameCountService;
+    private final GameStatisticsService gameStatisticsService;
+    private final PriceUpdateReader priceUpdateReader;
+    private final int chunkSize;
+    private final Duration jobRetention;
+    private final ScheduledExecutorService scheduler;
+    private final Cache<String, PriceUpdateJob> jobs;
+    private final Map<String, ScheduledFuture<?>> pendingJobs = new ConcurrentHashMap<>();
+
+    public GamePriceUpdateService(MongoTemplate mongoTemplate,
+                                  GameDetailCache gameDetailCache,
+                                  GameCountService gameCountService,
+                                  GameStatisticsService gameStatisticsService,
+                                  PriceUpdateReader priceUpdateReader,
+                                  @Value("${game.bulk.chunk-size:1000}") int chunkSize,
+                                  @Value("${game.prices.job-retention:7d}") Duration jobRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.gameDetailCache = gameDetailCache;
+        this.gameCountService = gameCountService;
+        this.gameStatisticsService = gameStatisticsService;
+        this.priceUpdateReader = priceUpdateReader;
+        this.chunkSize = chunkSize;
+        this.jobRetention = jobRetention;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-price-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public List<PriceUpdate> read(InputStream inputStream, boolean csv, boolean gzip) throws IOException {
+        InputStream source = gzip ? new GZIPInputStream(inputStream) : inputStream;
+        return csv ? priceUpdateReader.readCsv(source) : priceUpdateReader.readNdjson(source);
+    }
+
+    public PriceUpdateResult apply(List<PriceUpdate> rows) {
+        log.info("Applying price updates, rows: {}, chunk size: {}", rows.size(), chunkSize);
+        long startTime = System.nanoTime();
+
+        // Unordered bulk writes may run in any order, so only the last row per appId is kept
+        Map<Integer, PriceUpdate> latest = new LinkedHashMap<>();
+        rows.forEach(row -> latest.put(row.getAppId(), row));
+        List<PriceUpdate> updates = new ArrayList<>(latest.values());
+
+        PriceUpdateResult result = PriceUpdateResult.builder()
+                .requested(rows.size())
+                .duplicates(rows.size() - updates.size())
+                .build();
+        Date now = new Date();
+        for (int from = 0; from < updates.size(); from += chunkSize) {
+            applyChunk(updates.subList(from, Math.min(from + chunkSize, updates.size())), now, result);
+        }
+        if (result.getModified() > 0) {
+            gameCountService.invalidateFiltered();
+            // Price buckets are part of the catalog statistics
+            gameStatisticsService.markStale();
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        result.setNotFound(updates.size() - result.getMatched() - result.getFailed());
+        result.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : updates.size() * 1_000_000_000.0 / elapsedNanos);
+        log.info("Price updates finished in {} ms ({} rows/s), matched: {}, modified: {}, not found: {}, failed: {}",
+                result.getDurationMs(), Math.round(result.getRowsPerSecond()), result.getMatched(),
+                result.getModified(), result.getNotFound(), result.getFailed());
+        return result;
+    }
+
+    public PriceUpdateJob schedule(List<PriceUpdate> rows, Instant applyAt) {
+        // Job records expire after the retention period, so a job must run well within it
+        if (applyAt.isAfter(Instant.now().plus(jobRetention))) {
+            throw new IllegalArgumentException("Price updates can be scheduled at most " + jobRetention + " ahead");
+        }
+        PriceUpdateJob job = PriceUpdateJob.builder()
+                .id(UUID.randomUUID().toString())
+                .status(PriceUpdateJob.Status.SCHEDULED)
+                .applyAt(applyAt)
+                .rows(rows.size())
+                .build();
+        jobs.put(job.getId(), job);
+
+        long delayMillis = Math.max(0, Duration.between(Instant.now(), applyAt).toMillis());
+        pendingJobs.put(job.getId(), scheduler.schedule(() -> run(job, rows), delayMillis, TimeUnit.MILLISECONDS));
+        log.info("Scheduled price update job {} with {} rows at {}", job.getId(), rows.size(), applyAt);
+        return job;
+    }
+
+    public Optional<PriceUpdateJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    public boolean cancel(String jobId) {
+        ScheduledFuture<?> future = pendingJobs.get(jobId);
+        PriceUpdateJob job = jobs.getIfPresent(jobId);
+        if (future == null || job == null || !future.cancel(false)) {
+            return false;
+        }
+        pendingJobs.remove(jobId);
+        job.setStatus(PriceUpdateJob.Status.CANCELLED);
+        job.setFinishedAt(Instant.now());
+        log.info("Cancelled price update job {}", jobId);
+        return true;
+    }
+
+    private void run(PriceUpdateJob job, List<PriceUpdate> rows) {
+        pendingJobs.remove(job.getId());
+        job.setStatus(PriceUpdateJob.Status.RUNNING);
+        job.setStartedAt(Instant.now());
+        try {
+            job.setResult(apply(rows));
+            job.setStatus(PriceUpdateJob.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.error("Price update job {} failed", job.getId(), e);
+            job.setError(e.getMessage());
+            job.setStatus(PriceUpdateJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(Instant.now());
+        }
+    }
+
+    private void applyChunk(List<PriceUpdate> chunk, Date now, PriceUpdateResult result) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class);
+        for (PriceUpdate row : chunk) {
+            bulkOps.updateOne(new Query(Criteria.where("appId").is(row.getAppId())), toUpdate(row, now));
+        }
+
+        try {
+            BulkWriteResult writeResult = bulkOps.execute();
+            result.setMatched(result.getMatched() + writeResult.getMatchedCount());
+            result.setModified(result.getModified() + writeResult.getModifiedCount());
+        } catch (BulkOperationException e) {
+            result.setMatched(result.getMatched() + e.getResult().getMatchedCount());
+            result.setModified(result.getModified() + e.getResult().getModifiedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                Integer appId = chunk.get(error.getIndex()).getAppId();
+                log.error("Failed to update price of game with appId {}: {}", appId, error.getMessage());
+                result.addFailed(appId);
+            }
+        }
+        gameDetailCache.invalidateAppIds(chunk.stream().map(PriceUpdate::getAppId).toList());
+    }
+
+    // Same bookkeeping as a merge patch: the priceOverview hash is cleared, not recomputed
+    private static Update toUpdate(PriceUpdate row, Date now) {
+        Update update = new Update()
+                .set("priceOverview.finalPrice", row.getFinalPrice());
+        if (row.getInitial() != null) {
+            update.set("priceOverview.initial", row.getInitial());
+        }
+        if (row.getDiscountPercent() != null) {
+            update.set("priceOverview.discountPercent", row.getDiscountPercent());
+        }
+        if (row.getCurrency() != null) {
+            update.set("priceOverview.currency", row.getCurrency());
+        }
+        if (row.getFinalFormatted() != null) {
+            update.set("priceOverview.finalFormatted", row.getFinalFormatted());
+        }
+        if (row.getInitialFormatted() != null) {
+            update.set("priceOverview.initialFormatted", row.getInitialFormatted());
+        }
+        return update.unset("fieldHashes.priceOverview")
+                .unset("contentHash")
+                .set("updatedAt", now)
+                .inc("version", 1);
+    }
+}
@@ -0,0 +1,107 @@
+package org.ha.gameservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.commons.dto.request.SearchRequest;
+import org.ha.gameservice.dto.GameSummary;
+import org.ha.gameservice.dto.GameView;
+import org.ha.gameservice.dto.SearchMode;
+import org.ha.gameservice.entity.Game;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Game search backed by a MongoDB text index (relevance ranked) and an indexed,
+ * lower-cased copy of the name for prefix matching. Both indexes are declared in
+ * {@link org.ha.gameservice.config.GameIndexes}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameSearchService {
+
+    private static final Pattern REGEX_META_CHARACTERS = Pattern.compile("[.*+?^$|()\\[\\]{}\\\\/]");
+
+    private final MongoTemplate mongoTemplate;
+    private final GameCountService gameCountService;
+
+    // Runs off the startup thread, like the index builds, so a large backfill does not delay traffic
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchNameAsync() {
+        CompletableFuture.runAsync(this::backfillSearchName).exceptionally(e -> {
+            log.error("Failed to backfill search names", e);
+            return null;
+        });
+    }
+
+    public void backfillSearchName() {
+        // Backfill the prefix key for documents written before it existed
+        long backfilled = mongoTemplate.updateMulti(
+                new Query(Criteria.where("nameLower").exists(false).and("name").exists(true)),
+                AggregationUpdate.update().set("nameLower").toValue(StringOperators.valueOf("name").toLower()),
+                Game.class
+        ).getModifiedCount();
+        if (backfilled > 0) {
+            log.info("Backfilled search name for {} games", backfilled);
+        }
+    }
+
+    public Page<?> search(SearchRequest request, SearchMode mode, GameView view) {
+        log.debug("Searching games, query: {}, mode: {}", request.getQuery(), mode);
+        // Pages are 1-based like the other game listings; 0, the shared request default, is the first page
+        Pageable pageable = PageRequest.of(Math.max(request.getPage() - 1, 0), request.getSize());
+        Query query = mode == SearchMode.PREFIX
+                ? prefixQuery(request.getQuery()).with(pageable)
+                : textQuery(request.getQuery()).with(pageable);
+
+        if (view == GameView.SUMMARY) {
+            query.fields().include(GameSummary.FIELDS.toArray(String[]::new));
+            List<GameSummary> summaries = mongoTemplate.query(Game.class)
+                    .as(GameSummary.class)
+                    .matching(query)
+                    .all();
+            return PageableExecutionUtils.getPage(summaries, pageable, () -> countMatches(request, mode));
+        }
+
+        List<Game> games = mongoTemplate.find(query, Game.class);
+        return PageableExecutionUtils.getPage(games, pageable, () -> countMatches(request, mode));
+    }
+
+    private long countMatches(SearchRequest request, SearchMode mode) {
+        String countKey = "search:" + mode + ":" + request.getQuery().trim().toLowerCase(Locale.ROOT);
+        return gameCountService.getFilteredCount(countKey, () -> {
+            Query query = mode == SearchMode.PREFIX ? prefixQuery(request.getQuery()) : textQuery(request.getQuery());
+            return mongoTemplate.count(query, Game.class);
+        });
+    }
+
+    private Query textQuery(String text) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text)).sortByScore();
+    }
+
+    private Query prefixQuery(String prefix) {
+        // Anchored, case-sensitive regex on the lower-cased name is answered by an index range scan
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        String escaped = REGEX_META_CHARACTERS.matcher(normalized).replaceAll("\\\\$0");
+        return new Query(Criteria.where("nameLower").regex("^" + escaped))
+                .with(Sort.by(Sort.Direction.ASC, "nameLower"));
+    }
+}
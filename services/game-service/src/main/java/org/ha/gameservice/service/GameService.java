@@ -1,25 +1,87 @@
 package org.ha.gameservice.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.ha.gameservice.dto.BulkImportResult;
+import org.ha.gameservice.dto.CacheStats;
 import org.ha.gameservice.dto.CreateGameRequest;
+import org.ha.gameservice.dto.GameCursor;
+import org.ha.gameservice.dto.GameCursorPage;
+import org.ha.gameservice.dto.GameSummary;
+import org.ha.gameservice.dto.ResourceVersion;
+import org.ha.gameservice.dto.SerializedGame;
 import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.entity.GameDetails;
 import org.ha.gameservice.repository.GameRepository;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
+    // Fields of Game that may be requested through the "fields" listing parameter
+    private static final Set<String> PROJECTABLE_FIELDS = Arrays.stream(Game.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    // Deletes leave no updatedAt behind, so the time of the last one is kept in a marker document
+    static final String CATALOG_COLLECTION = "game_catalog";
+    private static final String CATALOG_MARKER_ID = "games";
+
     private final GameRepository gameRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GameCountService gameCountService;
+    private final GameContentHasher gameContentHasher;
+    private final GameSuggestService gameSuggestService;
+    private final GameDetailCache gameDetailCache;
+    private final GameStatisticsService gameStatisticsService;
+    private final GameDetailsService gameDetailsService;
+    private final GamePatchBuilder gamePatchBuilder;
+
+    @Value("${game.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
 
     public Game createGame(CreateGameRequest gameRequest) {
         log.info("Creating new game with appId: {}", gameRequest.getAppId());
@@ -56,25 +118,193 @@ public class GameService {
 
         game.setCreatedAt(new Date());
         game.setUpdatedAt(new Date());
+        game.setVersion(0L);
+        gameContentHasher.stamp(game);
 
+        GameDetails details = gameDetailsService.detach(game);
         Game savedGame = gameRepository.save(game);
+        try {
+            gameDetailsService.save(details);
+        } catch (RuntimeException e) {
+            // Do not leave a game without its details behind
+            gameRepository.deleteById(savedGame.getId());
+            markDeleted();
+            throw e;
+        }
+        gameDetailsService.attach(savedGame, details);
+        gameCountService.invalidate();
+        gameStatisticsService.markStale();
+        gameSuggestService.index(savedGame);
         log.info("Successfully created game with id: {}", savedGame.getId());
         return savedGame;
     }
 
     public Optional<Game> getGameById(String id) {
         log.debug("Fetching game by id: {}", id);
-        return gameRepository.findById(id);
+        return Optional.ofNullable(gameDetailCache.getById(id, () -> loadGame(gameRepository.findById(id))));
     }
 
     public Optional<Game> getGameByAppId(Integer appId) {
         log.debug("Fetching game by appId: {}", appId);
-        return gameRepository.findByAppId(appId);
+        return Optional.ofNullable(gameDetailCache.getByAppId(appId, () -> loadGame(gameRepository.findByAppId(appId))));
+    }
+
+    public Optional<SerializedGame> getSerializedGameById(String id) {
+        return Optional.ofNullable(gameDetailCache.getSerializedById(id, () -> loadGame(gameRepository.findById(id))));
+    }
+
+    public Optional<SerializedGame> getSerializedGameByAppId(Integer appId) {
+        return Optional.ofNullable(gameDetailCache.getSerializedByAppId(appId, () -> loadGame(gameRepository.findByAppId(appId))));
+    }
+
+    public Optional<GameDetails> getGameDetails(Integer appId) {
+        return gameDetailsService.findByAppId(appId);
+    }
+
+    // Detail lookups merge the separately stored fields back into the compact document
+    private Game loadGame(Optional<Game> game) {
+        return game.map(gameDetailsService::loadDetails).orElse(null);
+    }
+
+    public Optional<ResourceVersion> getGameVersion(String id) {
+        Game cached = gameDetailCache.peekById(id);
+        if (cached != null) {
+            return Optional.of(ResourceVersion.of(cached));
+        }
+        return findVersion(new Query(Criteria.where("id").is(id)));
+    }
+
+    public Optional<ResourceVersion> getGameVersionByAppId(Integer appId) {
+        Game cached = gameDetailCache.peekByAppId(appId);
+        if (cached != null) {
+            return Optional.of(ResourceVersion.of(cached));
+        }
+        return findVersion(new Query(Criteria.where("appId").is(appId)));
+    }
+
+    public ResourceVersion getCatalogVersion(String requestKey) {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(1);
+        query.fields().include("updatedAt");
+        Game latest = mongoTemplate.findOne(query, Game.class);
+        Document marker = mongoTemplate.findById(CATALOG_MARKER_ID, Document.class, CATALOG_COLLECTION);
+
+        long lastModified = latest != null && latest.getUpdatedAt() != null ? latest.getUpdatedAt().getTime() : -1;
+        Date lastDeletedAt = marker != null ? marker.getDate("lastDeletedAt") : null;
+        if (lastDeletedAt != null) {
+            lastModified = Math.max(lastModified, lastDeletedAt.getTime());
+        }
+        return ResourceVersion.ofListing(requestKey, lastModified, gameCountService.getTotalCount());
+    }
+
+    private void markDeleted() {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(CATALOG_MARKER_ID)),
+                new Update().max("lastDeletedAt", new Date()), CATALOG_COLLECTION);
+    }
+
+    private Optional<ResourceVersion> findVersion(Query query) {
+        // Only the validator fields are read, never the full document
+        query.fields().include("updatedAt", "contentHash", "version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Game.class)).map(ResourceVersion::of);
     }
 
     public Page<Game> getAllGames(Pageable pageable) {
         log.debug("Fetching all games with pagination");
-        return gameRepository.findAll(pageable);
+        List<Game> games = mongoTemplate.find(new Query().with(pageable), Game.class);
+        return PageableExecutionUtils.getPage(games, pageable, gameCountService::getTotalCount);
+    }
+
+    public Page<GameSummary> getGameSummaries(Pageable pageable) {
+        log.debug("Fetching game summaries with pagination");
+        Query query = new Query().with(pageable);
+        query.fields().include(GameSummary.FIELDS.toArray(String[]::new));
+
+        List<GameSummary> summaries = mongoTemplate.query(Game.class)
+                .as(GameSummary.class)
+                .matching(query)
+                .all();
+        return PageableExecutionUtils.getPage(summaries, pageable, gameCountService::getTotalCount);
+    }
+
+    public Page<Game> getAllGames(Pageable pageable, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return getAllGames(pageable);
+        }
+        log.debug("Fetching all games with pagination, fields: {}", fields);
+        Query query = new Query().with(pageable);
+        query.fields().include(resolveProjection(fields));
+
+        List<Game> games = mongoTemplate.find(query, Game.class);
+        return PageableExecutionUtils.getPage(games, pageable, gameCountService::getTotalCount);
+    }
+
+    public GameCursorPage<Game> getGamesByCursor(String cursor, int size, String sort, String direction) {
+        GameCursor start = resolveCursor(cursor, sort, direction);
+        log.debug("Fetching games by cursor, sort: {}, direction: {}", start.getSortKey(), start.getDirection());
+        Query query = buildCursorQuery(start, size);
+
+        List<Game> games = mongoTemplate.find(query, Game.class);
+        return toCursorPage(games, start, size, Game::getId, Game::getAppId);
+    }
+
+    public GameCursorPage<GameSummary> getGameSummariesByCursor(String cursor, int size, String sort, String direction) {
+        GameCursor start = resolveCursor(cursor, sort, direction);
+        log.debug("Fetching game summaries by cursor, sort: {}, direction: {}", start.getSortKey(), start.getDirection());
+        Query query = buildCursorQuery(start, size);
+        query.fields().include(GameSummary.FIELDS.toArray(String[]::new));
+
+        List<GameSummary> summaries = mongoTemplate.query(Game.class)
+                .as(GameSummary.class)
+                .matching(query)
+                .all();
+        return toCursorPage(summaries, start, size, GameSummary::getId, GameSummary::getAppId);
+    }
+
+    private GameCursor resolveCursor(String cursor, String sort, String direction) {
+        if (cursor != null && !cursor.isBlank()) {
+            return GameCursor.decode(cursor);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        return new GameCursor(GameCursor.SortKey.from(sort), sortDirection, null);
+    }
+
+    private Query buildCursorQuery(GameCursor cursor, int size) {
+        String property = cursor.getSortKey().getProperty();
+        Query query = new Query();
+
+        if (cursor.getLastValue() != null) {
+            Criteria range = Criteria.where(property);
+            query.addCriteria(cursor.getDirection().isAscending()
+                    ? range.gt(cursor.getLastValue())
+                    : range.lt(cursor.getLastValue()));
+        }
+
+        // Fetch one extra document to find out whether another page exists
+        return query.with(Sort.by(cursor.getDirection(), property)).limit(size + 1);
+    }
+
+    private <T> GameCursorPage<T> toCursorPage(List<T> results, GameCursor cursor, int size,
+                                               Function<T, String> idGetter, Function<T, Integer> appIdGetter) {
+        if (results.size() <= size) {
+            return new GameCursorPage<>(results, null);
+        }
+
+        List<T> content = results.subList(0, size);
+        T last = content.get(size - 1);
+        Object lastValue = cursor.getSortKey() == GameCursor.SortKey.ID
+                ? new ObjectId(idGetter.apply(last))
+                : appIdGetter.apply(last);
+        String nextCursor = new GameCursor(cursor.getSortKey(), cursor.getDirection(), lastValue).encode();
+        return new GameCursorPage<>(content, nextCursor);
+    }
+
+    private String[] resolveProjection(Collection<String> fields) {
+        List<String> unknownFields = fields.stream()
+                .filter(field -> !PROJECTABLE_FIELDS.contains(field))
+                .toList();
+        if (!unknownFields.isEmpty()) {
+            throw new IllegalArgumentException("Unknown game fields: " + unknownFields);
+        }
+        return fields.stream().distinct().toArray(String[]::new);
     }
 
     public Game updateGame(String id, Game updatedGame) {
@@ -92,55 +322,388 @@ public class GameService {
         updatedGame.setId(id);
         updatedGame.setCreatedAt(existingGame.getCreatedAt());
         updatedGame.setUpdatedAt(new Date());
+        updatedGame.setVersion(existingGame.getVersion() != null ? existingGame.getVersion() + 1 : 1L);
+        gameContentHasher.stamp(updatedGame);
 
+        GameDetails details = gameDetailsService.detach(updatedGame);
+        gameDetailsService.save(details);
         Game savedGame = gameRepository.save(updatedGame);
+        gameDetailsService.attach(savedGame, details);
+        if (details != null && !existingGame.getAppId().equals(savedGame.getAppId())) {
+            gameDetailsService.delete(existingGame.getAppId());
+        }
+        gameCountService.invalidateFiltered();
+        gameStatisticsService.markStale();
+        gameDetailCache.invalidate(id);
+        gameDetailCache.invalidateAppId(existingGame.getAppId());
+        if (!existingGame.getAppId().equals(savedGame.getAppId())) {
+            gameSuggestService.remove(existingGame.getAppId());
+        }
+        gameSuggestService.index(savedGame);
         log.info("Successfully updated game with id: {}", id);
         return savedGame;
     }
 
+    /**
+     * Applies a JSON merge patch with one findAndModify. When an expected version is given the
+     * write only happens if the stored version still matches (a missing version counts as 0).
+     * Content hashes of the touched fields are cleared rather than recomputed, because the
+     * merged values are never read back; the next full write or import restores them.
+     */
+    public Game patchGame(String id, JsonNode mergePatch, Long expectedVersion) {
+        log.info("Patching game with id: {}, expected version: {}", id, expectedVersion);
+
+        GamePatchBuilder.GamePatch patch = gamePatchBuilder.build(mergePatch);
+        Date now = new Date();
+        Update update = patch.update();
+        patch.fields().forEach(field -> update.unset("fieldHashes." + field));
+        update.unset("contentHash")
+                .set("updatedAt", now)
+                .inc("version", 1);
+        if (patch.fields().contains("name")) {
+            update.set("nameLower", mergePatch.get("name").asText().toLowerCase(Locale.ROOT));
+        }
+
+        Query query = new Query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(expectedVersion == 0
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+
+        Game patchedGame = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Game.class);
+        if (patchedGame == null) {
+            if (gameRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                        "Game " + id + " was modified concurrently, expected version " + expectedVersion);
+            }
+            throw new IllegalArgumentException("Game not found with id: " + id);
+        }
+        if (patch.hasDetailChanges()) {
+            gameDetailsService.update(patchedGame.getAppId(), patch.detailsUpdate().set("updatedAt", now));
+        }
+
+        gameCountService.invalidateFiltered();
+        gameStatisticsService.markStale();
+        gameDetailCache.invalidate(id);
+        gameDetailCache.invalidateAppId(patchedGame.getAppId());
+        // Name and recommendations are what the suggestion index ranks and matches on
+        if (patch.fields().contains("name") || patch.fields().contains("recommendations")) {
+            gameSuggestService.index(patchedGame);
+        }
+        log.info("Successfully patched game with id: {}, version: {}", id, patchedGame.getVersion());
+        return gameDetailsService.loadDetails(patchedGame);
+    }
+
     public void deleteGame(String id) {
         log.info("Deleting game with id: {}", id);
 
-        if (!gameRepository.existsById(id)) {
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("appId");
+        Game deletedGame = mongoTemplate.findAndRemove(query, Game.class);
+        if (deletedGame == null) {
             throw new IllegalArgumentException("Game not found with id: " + id);
         }
+        markDeleted();
 
-        gameRepository.deleteById(id);
+        gameDetailsService.delete(deletedGame.getAppId());
+        gameCountService.invalidate();
+        gameStatisticsService.markStale();
+        gameDetailCache.invalidate(id);
+        gameDetailCache.invalidateAppId(deletedGame.getAppId());
+        gameSuggestService.remove(deletedGame.getAppId());
         log.info("Successfully deleted game with id: {}", id);
     }
 
     public void deleteGameByAppId(Integer appId) {
         log.info("Deleting game with appId: {}", appId);
-        gameRepository.deleteByAppId(appId);
+
+        // The id of the removed document is needed to drop its cache entry
+        Query query = new Query(Criteria.where("appId").is(appId));
+        query.fields().include("appId");
+        Game deletedGame = mongoTemplate.findAndRemove(query, Game.class);
+        if (deletedGame != null) {
+            markDeleted();
+        }
+
+        gameDetailsService.delete(appId);
+        gameCountService.invalidate();
+        gameStatisticsService.markStale();
+        if (deletedGame != null) {
+            gameDetailCache.invalidate(deletedGame.getId());
+        }
+        gameDetailCache.invalidateAppId(appId);
+        gameSuggestService.remove(appId);
         log.info("Successfully deleted game with appId: {}", appId);
     }
 
     public long getTotalGamesCount() {
-        return gameRepository.count();
+        return gameCountService.getTotalCount();
     }
 
-    public List<Game> createGames(List<Game> games) {
-        log.info("Creating bulk games, count: {}", games.size());
+    public CacheStats getDetailCacheStats() {
+        return gameDetailCache.stats();
+    }
 
-        List<Game> validGames = new ArrayList<>();
-        List<Integer> duplicateAppIds = new ArrayList<>();
+    public BulkImportResult createGames(List<Game> games) {
+        log.info("Creating bulk games, count: {}, chunk size: {}", games.size(), bulkChunkSize);
+
+        BulkImportResult result = new BulkImportResult();
+        Set<Integer> seenAppIds = new HashSet<>();
+
+        for (int from = 0; from < games.size(); from += bulkChunkSize) {
+            List<Game> chunk = games.subList(from, Math.min(from + bulkChunkSize, games.size()));
+            result.merge(insertChunk(chunk, seenAppIds));
+        }
 
-        for (Game game : games) {
-            if (gameRepository.existsByAppId(game.getAppId())) {
-                duplicateAppIds.add(game.getAppId());
+        if (result.getSkipped() > 0) {
+            log.warn("Skipping games with duplicate appId: {}", result.getSkippedAppIds());
+        }
+        if (result.getInserted() > 0) {
+            gameCountService.invalidate();
+            gameStatisticsService.markStale();
+        }
+
+        log.info("Bulk create finished, inserted: {}, skipped: {}, failed: {}",
+                result.getInserted(), result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    private BulkImportResult insertChunk(List<Game> chunk, Set<Integer> seenAppIds) {
+        BulkImportResult result = BulkImportResult.builder().requested(chunk.size()).build();
+
+        Set<Integer> existingAppIds = findExistingAppIds(chunk.stream()
+                .map(Game::getAppId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        Date now = new Date();
+        List<Game> validGames = new ArrayList<>();
+        for (Game game : chunk) {
+            Integer appId = game.getAppId();
+            if (appId == null) {
+                result.setFailed(result.getFailed() + 1);
+            } else if (existingAppIds.contains(appId) || !seenAppIds.add(appId)) {
+                result.setSkipped(result.getSkipped() + 1);
+                result.getSkippedAppIds().add(appId);
             } else {
-                game.setCreatedAt(new Date());
-                game.setUpdatedAt(new Date());
+                game.setCreatedAt(now);
+                game.setUpdatedAt(now);
+                game.setVersion(0L);
+                gameContentHasher.stamp(game);
                 validGames.add(game);
             }
         }
 
-        if (!duplicateAppIds.isEmpty()) {
-            log.warn("Skipping games with duplicate appId: {}", duplicateAppIds);
+        if (validGames.isEmpty()) {
+            return result;
+        }
+
+        // Only the compact documents go to the games collection when details are split off
+        List<GameDetails> details = validGames.stream().map(gameDetailsService::detach).toList();
+        Set<Integer> rejectedIndexes = new HashSet<>();
+        try {
+            BulkWriteResult writeResult = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class)
+                    .insert(validGames)
+                    .execute();
+            result.setInserted(writeResult.getInsertedCount());
+        } catch (BulkOperationException e) {
+            // Unordered mode keeps writing past individual failures; classify what was rejected
+            result.setInserted(e.getResult().getInsertedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                rejectedIndexes.add(error.getIndex());
+                Integer appId = validGames.get(error.getIndex()).getAppId();
+                if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                    result.setSkipped(result.getSkipped() + 1);
+                    result.getSkippedAppIds().add(appId);
+                } else {
+                    log.error("Failed to insert game with appId {}: {}", appId, error.getMessage());
+                    result.setFailed(result.getFailed() + 1);
+                    result.getFailedAppIds().add(appId);
+                }
+            }
+        }
+
+        List<Game> insertedGames = new ArrayList<>();
+        List<GameDetails> insertedDetails = new ArrayList<>();
+        for (int i = 0; i < validGames.size(); i++) {
+            if (!rejectedIndexes.contains(i)) {
+                insertedGames.add(validGames.get(i));
+                insertedDetails.add(details.get(i));
+            }
+        }
+        if (gameDetailsService.isSplitEnabled()) {
+            removeGamesWithoutDetails(insertedGames, gameDetailsService.saveAll(insertedDetails), result);
+        }
+        for (Game game : insertedGames) {
+            gameSuggestService.index(game);
+            gameDetailCache.invalidateAppId(game.getAppId());
+        }
+        return result;
+    }
+
+    // Games whose details could not be written are removed again and reported as failed
+    private void removeGamesWithoutDetails(List<Game> insertedGames, Set<Integer> failedAppIds, BulkImportResult result) {
+        if (failedAppIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(new Query(Criteria.where("appId").in(failedAppIds)), Game.class);
+        markDeleted();
+        insertedGames.removeIf(game -> failedAppIds.contains(game.getAppId()));
+        result.setInserted(result.getInserted() - failedAppIds.size());
+        result.setFailed(result.getFailed() + failedAppIds.size());
+        result.getFailedAppIds().addAll(failedAppIds);
+    }
+
+    public BulkImportResult upsertGames(List<Game> games) {
+        log.info("Upserting bulk games, count: {}, chunk size: {}", games.size(), bulkChunkSize);
+
+        BulkImportResult result = new BulkImportResult();
+        for (int from = 0; from < games.size(); from += bulkChunkSize) {
+            List<Game> chunk = games.subList(from, Math.min(from + bulkChunkSize, games.size()));
+            result.merge(upsertChunk(chunk));
+        }
+
+        if (result.getInserted() > 0) {
+            gameCountService.invalidate();
+        } else if (result.getUpdated() > 0) {
+            gameCountService.invalidateFiltered();
+        }
+        if (result.getInserted() > 0 || result.getUpdated() > 0) {
+            gameStatisticsService.markStale();
+        }
+
+        log.info("Bulk upsert finished, inserted: {}, updated: {}, unchanged: {}, failed: {}",
+                result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getFailed());
+        return result;
+    }
+
+    private BulkImportResult upsertChunk(List<Game> chunk) {
+        BulkImportResult result = BulkImportResult.builder().requested(chunk.size()).build();
+
+        // Last occurrence wins when an appId appears more than once in the chunk
+        Map<Integer, Game> gamesByAppId = new LinkedHashMap<>();
+        for (Game game : chunk) {
+            if (game.getAppId() == null) {
+                result.setFailed(result.getFailed() + 1);
+            } else if (gamesByAppId.put(game.getAppId(), game) != null) {
+                result.setSkipped(result.getSkipped() + 1);
+                result.getSkippedAppIds().add(game.getAppId());
+            }
+        }
+        if (gamesByAppId.isEmpty()) {
+            return result;
+        }
+
+        Map<Integer, Map<String, Long>> storedHashes = findStoredFieldHashes(gamesByAppId.keySet());
+        Map<Integer, Update> gameUpdates = new LinkedHashMap<>();
+        Map<Integer, Update> detailUpdates = new HashMap<>();
+        Date now = new Date();
+
+        for (Game game : gamesByAppId.values()) {
+            Map<String, Long> incomingHashes = gameContentHasher.hashFields(game);
+            Map<String, Long> existingHashes = storedHashes.get(game.getAppId());
+
+            Map<String, Long> changedHashes = new TreeMap<>(incomingHashes);
+            if (existingHashes != null) {
+                changedHashes.entrySet().removeIf(entry -> entry.getValue().equals(existingHashes.get(entry.getKey())));
+                if (changedHashes.isEmpty()) {
+                    result.setUnchanged(result.getUnchanged() + 1);
+                    continue;
+                }
+            }
+
+            Map<String, Long> mergedHashes = existingHashes != null ? new TreeMap<>(existingHashes) : new TreeMap<>();
+            mergedHashes.putAll(changedHashes);
+
+            BeanWrapper gameFields = new BeanWrapperImpl(game);
+            Update update = new Update();
+            for (Map.Entry<String, Long> changed : changedHashes.entrySet()) {
+                Object value = gameFields.getPropertyValue(changed.getKey());
+                if (gameDetailsService.isStoredSeparately(changed.getKey())) {
+                    detailUpdates.computeIfAbsent(game.getAppId(), appId -> new Update().set("updatedAt", now))
+                            .set(changed.getKey(), value);
+                } else {
+                    update.set(changed.getKey(), value);
+                }
+                // Hashes of all fields stay on the games document, so change detection is layout-independent
+                update.set("fieldHashes." + changed.getKey(), changed.getValue());
+            }
+            if (changedHashes.containsKey("name")) {
+                update.set("nameLower", game.getName().toLowerCase(Locale.ROOT));
+            }
+            update.set("contentHash", gameContentHasher.combine(mergedHashes))
+                    .set("updatedAt", now)
+                    .inc("version", 1)
+                    .setOnInsert("createdAt", now);
+
+            gameUpdates.put(game.getAppId(), update);
+        }
+
+        // Details go first: if the games write fails afterwards, the stale hashes make the next import retry
+        Set<Integer> failedDetails = gameDetailsService.applyUpdates(detailUpdates);
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Game.class);
+        List<Game> upsertedGames = new ArrayList<>();
+        for (Map.Entry<Integer, Update> gameUpdate : gameUpdates.entrySet()) {
+            if (failedDetails.contains(gameUpdate.getKey())) {
+                result.setFailed(result.getFailed() + 1);
+                result.getFailedAppIds().add(gameUpdate.getKey());
+                continue;
+            }
+            bulkOps.upsert(new Query(Criteria.where("appId").is(gameUpdate.getKey())), gameUpdate.getValue());
+            upsertedGames.add(gamesByAppId.get(gameUpdate.getKey()));
+        }
+
+        if (upsertedGames.isEmpty()) {
+            return result;
+        }
+
+        Set<Integer> rejectedIndexes = new HashSet<>();
+        try {
+            BulkWriteResult writeResult = bulkOps.execute();
+            result.setInserted(writeResult.getUpserts().size());
+            result.setUpdated(writeResult.getModifiedCount());
+        } catch (BulkOperationException e) {
+            result.setInserted(e.getResult().getUpserts().size());
+            result.setUpdated(e.getResult().getModifiedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                rejectedIndexes.add(error.getIndex());
+                Integer appId = upsertedGames.get(error.getIndex()).getAppId();
+                log.error("Failed to upsert game with appId {}: {}", appId, error.getMessage());
+                result.setFailed(result.getFailed() + 1);
+                result.getFailedAppIds().add(appId);
+            }
+        }
+        for (int i = 0; i < upsertedGames.size(); i++) {
+            if (!rejectedIndexes.contains(i)) {
+                gameSuggestService.index(upsertedGames.get(i));
+                gameDetailCache.invalidateAppId(upsertedGames.get(i).getAppId());
+            }
+        }
+        return result;
+    }
+
+    private Map<Integer, Map<String, Long>> findStoredFieldHashes(Collection<Integer> appIds) {
+        Query query = new Query(Criteria.where("appId").in(appIds));
+        query.fields().include("appId", "fieldHashes");
+
+        Map<Integer, Map<String, Long>> hashes = new HashMap<>();
+        for (Game game : mongoTemplate.find(query, Game.class)) {
+            hashes.put(game.getAppId(), game.getFieldHashes() != null ? game.getFieldHashes() : Map.of());
+        }
+        return hashes;
+    }
+
+    private Set<Integer> findExistingAppIds(List<Integer> appIds) {
+        if (appIds.isEmpty()) {
+            return Set.of();
         }
+        Query query = new Query(Criteria.where("appId").in(appIds));
+        query.fields().include("appId");
 
-        List<Game> savedGames = gameRepository.saveAll(validGames);
-        log.info("Successfully created {} games", savedGames.size());
-        return savedGames;
+        return mongoTemplate.find(query, Game.class).stream()
+                .map(Game::getAppId)
+                .collect(Collectors.toSet());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,316 @@
+package org.ha.gameservice.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.dto.GameSummary;
+import org.ha.gameservice.dto.SimilarGame;
+import org.ha.gameservice.dto.SimilarityRebuildReport;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.entity.GameNeighbours;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * "More like this" index. A batch rebuild turns each game's genres, categories, tags,
+ * developers and publishers into a feature set, finds candidate pairs with MinHash
+ * locality-sensitive hashing (games sharing a band of their signature), ranks candidates
+ * by exact Jaccard similarity and stores the top neighbours per appId in
+ * {@code game_similar}. Lookups are a single read by appId.
+ */
+@Service
+@Slf4j
+public class GameSimilarityService {
+
+    // 16 bands of 4 rows: pairs with Jaccard >= ~0.5 become candidates with high probability
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final long[] SEEDS = new Random(0x5EED).longs(BANDS * ROWS).toArray();
+
+    // Ascending by score; on equal scores the higher appId ranks lower
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score)
+            .thenComparing(Scored::appId, Comparator.reverseOrder());
+
+    private final MongoTemplate mongoTemplate;
+    private final int neighbourCount;
+    private final int maxCandidates;
+    private final int chunkSize;
+    private final boolean rebuildOnStartup;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public GameSimilarityService(MongoTemplate mongoTemplate,
+                                 @Value("${game.similarity.neighbours:20}") int neighbourCount,
+                                 @Value("${game.similarity.max-candidates:1000}") int maxCandidates,
+                                 @Value("${game.bulk.chunk-size:1000}") int chunkSize,
+                                 @Value("${game.similarity.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.neighbourCount = neighbourCount;
+        this.maxCandidates = maxCandidates;
+        this.chunkSize = chunkSize;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            CompletableFuture.runAsync(this::rebuild).exceptionally(e -> {
+                log.error("Failed to rebuild similar games index", e);
+                return null;
+            });
+        }
+    }
+
+    public List<SimilarGame> findSimilar(Integer appId, int limit) {
+        GameNeighbours stored = mongoTemplate.findById(appId, GameNeighbours.class);
+        if (stored == null || stored.getNeighbours().isEmpty()) {
+            return List.of();
+        }
+        List<Integer> neighbours = stored.getNeighbours().subList(0, Math.min(limit, stored.getNeighbours().size()));
+
+        Query query = new Query(Criteria.where("appId").in(neighbours));
+        query.fields().include(GameSummary.FIELDS.toArray(String[]::new));
+        Map<Integer, GameSummary> summaries = mongoTemplate.query(Game.class)
+                .as(GameSummary.class)
+                .matching(query)
+                .all()
+                .stream()
+                .collect(Collectors.toMap(GameSummary::getAppId, Function.identity(), (first, second) -> first));
+
+        // Games deleted since the last rebuild are skipped
+        List<SimilarGame> similar = new ArrayList<>();
+        for (int i = 0; i < neighbours.size(); i++) {
+            GameSummary summary = summaries.get(neighbours.get(i));
+            if (summary != null) {
+                similar.add(SimilarGame.builder().score(stored.getScores().get(i)).game(summary).build());
+            }
+        }
+        return similar;
+    }
+
+    public SimilarityRebuildReport rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Similar games index is already being rebuilt");
+        }
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private SimilarityRebuildReport doRebuild() {
+        long startTime = System.currentTimeMillis();
+        log.info("Rebuilding similar games index, neighbours: {}, max candidates: {}", neighbourCount, maxCandidates);
+
+        List<Integer> appIds = new ArrayList<>();
+        List<int[]> features = new ArrayList<>();
+        loadFeatures(appIds, features);
+        int size = appIds.size();
+
+        long[][] bandKeys = new long[size][];
+        IntStream.range(0, size).parallel().forEach(i -> bandKeys[i] = bandKeys(features.get(i)));
+
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            for (long key : bandKeys[i]) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(i);
+            }
+        }
+
+        LongAdder comparisons = new LongAdder();
+        GameNeighbours[] results = new GameNeighbours[size];
+        String runId = UUID.randomUUID().toString();
+        Date computedAt = new Date();
+        IntStream.range(0, size).parallel().forEach(i -> {
+            results[i] = nearestNeighbours(i, appIds, features, bandKeys[i], buckets, comparisons);
+            results[i].setRunId(runId);
+            results[i].setComputedAt(computedAt);
+        });
+
+        int stored = store(Arrays.asList(results));
+        // Games deleted since the previous rebuild keep no neighbour lists
+        mongoTemplate.remove(new Query(Criteria.where("runId").ne(runId)), GameNeighbours.class);
+
+        SimilarityRebuildReport report = SimilarityRebuildReport.builder()
+                .games(size)
+                .comparisons(comparisons.sum())
+                .stored(stored)
+                .durationMs(System.currentTimeMillis() - startTime)
+                .build();
+        log.info("Rebuilt similar games index for {} games in {} ms, comparisons: {}",
+                report.getGames(), report.getDurationMs(), report.getComparisons());
+        return report;
+    }
+
+    private void loadFeatures(List<Integer> appIds, List<int[]> features) {
+        Query query = new Query();
+        query.fields().include("appId", "genres", "categories", "tags", "developers", "publishers");
+        try (Stream<Game> games = mongoTemplate.stream(query, Game.class)) {
+            games.forEach(game -> {
+                int[] featureSet = featureSet(game);
+                if (game.getAppId() != null && featureSet.length > 0) {
+                    appIds.add(game.getAppId());
+                    features.add(featureSet);
+                }
+            });
+        }
+    }
+
+    // Sorted, distinct hashes of prefixed feature names, e.g. "g:Action" or "d:Valve"
+    private static int[] featureSet(Game game) {
+        Set<String> names = new HashSet<>();
+        if (game.getGenres() != null) {
+            game.getGenres().forEach(genre -> names.add("g:" + genre.getDescription()));
+        }
+        if (game.getCategories() != null) {
+            game.getCategories().forEach(category -> names.add("c:" + category.getDescription()));
+        }
+        if (game.getTags() != null) {
+            game.getTags().keySet().forEach(tag -> names.add("t:" + tag));
+        }
+        addAll(names, "d:", game.getDevelopers());
+        addAll(names, "p:", game.getPublishers());
+        return names.stream().mapToInt(String::hashCode).sorted().distinct().toArray();
+    }
+
+    private static void addAll(Set<String> names, String prefix, Collection<String> values) {
+        if (values != null) {
+            values.forEach(value -> names.add(prefix + value));
+        }
+    }
+
+    private static long[] bandKeys(int[] features) {
+        long[] signature = new long[BANDS * ROWS];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int feature : features) {
+            for (int i = 0; i < signature.length; i++) {
+                signature[i] = Math.min(signature[i], mix(feature ^ SEEDS[i]));
+            }
+        }
+
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private GameNeighbours nearestNeighbours(int index, List<Integer> appIds, List<int[]> features, long[] keys,
+                                             Map<Long, List<Integer>> buckets, LongAdder comparisons) {
+        Set<Integer> candidates = new HashSet<>();
+        for (long key : keys) {
+            for (int candidate : buckets.get(key)) {
+                if (candidates.size() == maxCandidates) {
+                    break;
+                }
+                if (candidate != index) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        // Min-heap holding the best neighbours seen so far
+        PriorityQueue<Scored> best = new PriorityQueue<>(BY_SCORE);
+        for (int candidate : candidates) {
+            best.add(new Scored(appIds.get(candidate), jaccard(features.get(index), features.get(candidate))));
+            if (best.size() > neighbourCount) {
+                best.poll();
+            }
+        }
+        comparisons.add(candidates.size());
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(BY_SCORE.reversed());
+        return GameNeighbours.builder()
+                .appId(appIds.get(index))
+                .neighbours(ranked.stream().map(Scored::appId).toList())
+                .scores(ranked.stream().map(Scored::score).toList())
+                .build();
+    }
+
+    private static float jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (float) shared / (a.length + b.length - shared);
+    }
+
+    private int store(List<GameNeighbours> results) {
+        int stored = 0;
+        for (int from = 0; from < results.size(); from += chunkSize) {
+            List<GameNeighbours> chunk = results.subList(from, Math.min(from + chunkSize, results.size()));
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameNeighbours.class);
+            for (GameNeighbours neighbours : chunk) {
+                bulkOps.replaceOne(new Query(Criteria.where("appId").is(neighbours.getAppId())), neighbours,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            try {
+                bulkOps.execute();
+                stored += chunk.size();
+            } catch (BulkOperationException e) {
+                stored += chunk.size() - e.getErrors().size();
+                for (BulkWriteError error : e.getErrors()) {
+                    log.error("Failed to store similar games of appId {}: {}",
+                            chunk.get(error.getIndex()).getAppId(), error.getMessage());
+                }
+            }
+        }
+        return stored;
+    }
+
+    private record Scored(int appId, float score) {
+    }
+
+    // 64-bit finalizer of MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,233 @@
+package org.ha.gameservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.ha.gameservice.dto.GameFacets;
+import org.ha.gameservice.dto.GameStatistics;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AddFieldsOperation;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog statistics for the dashboard, materialized into the {@code game_stats} collection
+ * by a single {@code $facet} + {@code $merge} aggregation and served from an in-memory
+ * snapshot. Writes only mark the snapshot stale; a periodic check recomputes it when a
+ * change is newer than the stored result, or adopts a result another instance stored.
+ */
+@Service
+@Slf4j
+public class GameStatisticsService {
+
+    static final String STATS_COLLECTION = "game_stats";
+    private static final String CATALOG_STATS_ID = "catalog";
+    private static final int MAX_TOP_VALUES = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler;
+
+    // Time of the newest change seen, and the time up to which the snapshot reflects changes;
+    // changes in the same millisecond as the snapshot count as not reflected
+    private final AtomicLong lastChangedAt = new AtomicLong(1);
+    private volatile long reflectedAt;
+    private volatile GameStatistics current;
+
+    public GameStatisticsService(MongoTemplate mongoTemplate,
+                                 @Value("${game.stats.refresh-interval:1m}") Duration refreshInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshInterval = refreshInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::refreshIfStale, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public GameStatistics getStatistics() {
+        GameStatistics statistics = current;
+        return statistics != null ? statistics : refresh();
+    }
+
+    /**
+     * Records that the catalog changed. Called by the local write paths, so the snapshot
+     * also refreshes on standalone servers where no change stream is available.
+     */
+    public void markStale() {
+        lastChangedAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    // Writes made by other instances arrive through the change stream
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        markStale();
+    }
+
+    public synchronized GameStatistics refresh() {
+        // Changes made while the aggregation runs are newer than this timestamp
+        Date computedAt = new Date();
+        long startTime = System.currentTimeMillis();
+
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.facet(Aggregation.group().count().as("games")
+                                .sum(ConditionalOperators.when(Criteria.where("isFree").is(true)).then(1).otherwise(0)).as("free"))
+                        .as("totals")
+                        .and(Aggregation.unwind("genres"),
+                                Aggregation.sortByCount("genres.description"),
+                                Aggregation.limit(MAX_TOP_VALUES)).as("genres")
+                        .and(Aggregation.unwind("categories"),
+                                Aggregation.sortByCount("categories.description"),
+                                Aggregation.limit(MAX_TOP_VALUES)).as("categories")
+                        .and(Aggregation.unwind("developers"),
+                                Aggregation.sortByCount("developers"),
+                                Aggregation.limit(MAX_TOP_VALUES)).as("developers")
+                        .and(Aggregation.unwind("publishers"),
+                                Aggregation.sortByCount("publishers"),
+                                Aggregation.limit(MAX_TOP_VALUES)).as("publishers")
+                        .and(Aggregation.group()
+                                .sum(GameFilterService.platformFlag("windows")).as("windows")
+                                .sum(GameFilterService.platformFlag("mac")).as("mac")
+                                .sum(GameFilterService.platformFlag("linux")).as("linux")).as("platforms")
+                        .and(Aggregation.bucket("priceOverview.finalPrice")
+                                .withBoundaries(GameFilterService.PRICE_BOUNDARIES)
+                                .withDefaultBucket(GameFilterService.UNPRICED_BUCKET)
+                                .andOutputCount().as("count")).as("priceBuckets")
+                        .and(Aggregation.match(new Criteria().orOperator(
+                                        Criteria.where("reviews.positive").gt(0),
+                                        Criteria.where("reviews.negative").gt(0))),
+                                Aggregation.group().count().as("games")
+                                        .sum("reviews.positive").as("positive")
+                                        .sum("reviews.negative").as("negative")
+                                        .avg(ArithmeticOperators.Divide.valueOf("reviews.positive")
+                                                .divideBy(ArithmeticOperators.Add.valueOf("reviews.positive")
+                                                        .add("reviews.negative"))).as("averagePositiveRatio"))
+                        .as("reviews"),
+                AddFieldsOperation.builder()
+                        .addFieldWithValue("_id", CATALOG_STATS_ID)
+                        .addFieldWithValue("computedAt", computedAt)
+                        .build(),
+                Aggregation.merge()
+                        .intoCollection(STATS_COLLECTION)
+                        .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                        .whenNotMatched(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build()
+        ), mongoTemplate.getCollectionName(Game.class), Document.class);
+
+        GameStatistics statistics = load();
+        current = statistics;
+        reflectedAt = Math.max(reflectedAt, computedAt.getTime());
+        log.info("Recomputed catalog statistics in {} ms", System.currentTimeMillis() - startTime);
+        return statistics;
+    }
+
+    boolean isStale() {
+        return lastChangedAt.get() >= reflectedAt;
+    }
+
+    synchronized void refreshIfStale() {
+        try {
+            long changedAt = lastChangedAt.get();
+            if (changedAt < reflectedAt) {
+                return;
+            }
+            GameStatistics stored = load();
+            if (stored != null && stored.getComputedAt() != null && stored.getComputedAt().getTime() > changedAt) {
+                // Another instance already materialized every change seen here
+                current = stored;
+                reflectedAt = Math.max(reflectedAt, stored.getComputedAt().getTime());
+            } else {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh catalog statistics", e);
+        }
+    }
+
+    private GameStatistics load() {
+        Document stored = mongoTemplate.findById(CATALOG_STATS_ID, Document.class, STATS_COLLECTION);
+        if (stored == null) {
+            return null;
+        }
+
+        Document totals = first(stored, "totals");
+        Document platformCounts = first(stored, "platforms");
+        Map<String, Long> platforms = new LinkedHashMap<>();
+        for (String platform : GameFilterService.PLATFORMS) {
+            platforms.put(platform, longValue(platformCounts, platform));
+        }
+        Document reviews = first(stored, "reviews");
+
+        return GameStatistics.builder()
+                .totalGames(longValue(totals, "games"))
+                .freeGames(longValue(totals, "free"))
+                .genres(readCounts(stored, "genres"))
+                .categories(readCounts(stored, "categories"))
+                .developers(readCounts(stored, "developers"))
+                .publishers(readCounts(stored, "publishers"))
+                .platforms(platforms)
+                .priceBuckets(readCounts(stored, "priceBuckets"))
+                .reviews(GameStatistics.ReviewStatistics.builder()
+                        .reviewedGames(longValue(reviews, "games"))
+                        .positive(longValue(reviews, "positive"))
+                        .negative(longValue(reviews, "negative"))
+                        .averagePositiveRatio(reviews != null && reviews.get("averagePositiveRatio") != null
+                                ? reviews.get("averagePositiveRatio", Number.class).doubleValue()
+                                : null)
+                        .build())
+                .computedAt(stored.getDate("computedAt"))
+                .build();
+    }
+
+    // Group facets produce a single-element array, or none for an empty collection
+    private static Document first(Document stored, String facet) {
+        List<Document> values = stored.getList(facet, Document.class, List.of());
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static long longValue(Document document, String field) {
+        Number value = document != null ? document.get(field, Number.class) : null;
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static List<GameFacets.FacetCount> readCounts(Document stored, String facet) {
+        List<GameFacets.FacetCount> counts = new ArrayList<>();
+        for (Document bucket : stored.getList(facet, Document.class, List.of())) {
+            counts.add(GameFacets.FacetCount.builder()
+                    .value(String.valueOf(bucket.get("_id")))
+                    .count(longValue(bucket, "count"))
+                    .build());
+        }
+        return counts;
+    }
+}
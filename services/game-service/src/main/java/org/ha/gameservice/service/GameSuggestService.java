@@ -0,0 +1,304 @@
+package org.ha.gameservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ha.gameservice.dto.GameSuggestion;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over game names.
+ *
+ * <p>Every word start of a normalized name is stored as a key in a sorted map, so a
+ * prefix lookup is a range scan. Top-k results of prefixes whose range is large, such
+ * as very short prefixes or a common first word, are memoized and dropped when a game
+ * that falls under them changes, so no prefix pays for a large scan more than once
+ * between writes.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameSuggestService {
+
+    public static final int MAX_LIMIT = 20;
+
+    // Scans visiting more keys than this are memoized
+    static final int MEMOIZED_SCAN_SIZE = 256;
+    private static final int MAX_MEMOIZED_PREFIXES = 10_000;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Comparator<GameSuggestion> RANKING = Comparator
+            .comparingInt(GameSuggestion::getRecommendations).reversed()
+            .thenComparing(GameSuggestion::getName)
+            .thenComparing(GameSuggestion::getAppId);
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Index index = new Index();
+    // Writes applied while a rebuild is loading, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pendingWrites;
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            synchronized (this) {
+                pendingWrites = new ArrayList<>();
+            }
+            Index next = new Index();
+            try {
+                Query query = new Query();
+                query.fields().include("id", "appId", "name", "recommendations");
+                try (Stream<Game> games = mongoTemplate.stream(query, Game.class)) {
+                    games.forEach(next::put);
+                }
+                synchronized (this) {
+                    pendingWrites.forEach(write -> write.accept(next));
+                    index = next;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingWrites = null;
+                }
+            }
+            log.info("Loaded {} games into suggestion index in {} ms",
+                    next.size(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    public List<GameSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        List<GameSuggestion> results = current.memoized.get(prefix);
+        if (results == null) {
+            long generation = current.generation;
+            Scan scan = current.topMatches(prefix, MAX_LIMIT);
+            results = scan.results();
+            if (scan.visited() > MEMOIZED_SCAN_SIZE) {
+                memoize(current, prefix, results, generation);
+            }
+        }
+        return results.size() > size ? results.subList(0, size) : results;
+    }
+
+    /**
+     * Adds or refreshes a game. Null name or recommendations keep the indexed values,
+     * which matches the merge semantics of upsert imports.
+     */
+    public synchronized void index(Game game) {
+        apply(next -> next.put(game));
+    }
+
+    public synchronized void remove(Integer appId) {
+        apply(next -> next.remove(appId));
+    }
+
+    public synchronized void removeById(String id) {
+        apply(next -> next.removeById(id));
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        switch (event.getType()) {
+            case INSERTED, UPDATED -> {
+                if (event.getSnapshot() != null) {
+                    index(event.getSnapshot());
+                }
+            }
+            case DELETED -> removeById(event.getId());
+            // Rebuild from the collection rather than trusting a partially applied state
+            case ALL -> load();
+        }
+    }
+
+    boolean isMemoized(String prefix) {
+        return index.memoized.containsKey(normalize(prefix));
+    }
+
+    private void apply(Consumer<Index> write) {
+        write.accept(index);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    // Writers hold this lock, so an even, unchanged generation means no write overlapped the scan
+    private synchronized void memoize(Index current, String prefix, List<GameSuggestion> results, long generation) {
+        if (current == index && (generation & 1) == 0 && current.generation == generation
+                && current.memoized.size() < MAX_MEMOIZED_PREFIXES) {
+            current.memoized.putIfAbsent(prefix, results);
+            current.longestMemoizedPrefix = Math.max(current.longestMemoizedPrefix, prefix.length());
+        }
+    }
+
+    private record Scan(List<GameSuggestion> results, int visited) {
+    }
+
+    /**
+     * One generation of the index. Mutated only under the service lock, or before it is published.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, GameSuggestion> entriesByKey = new ConcurrentSkipListMap<>();
+        private final Map<Integer, GameSuggestion> entriesByAppId = new ConcurrentHashMap<>();
+        // Deletes observed on the change stream only carry the document id
+        private final Map<String, Integer> appIdsById = new ConcurrentHashMap<>();
+        private final Map<Integer, String> idsByAppId = new ConcurrentHashMap<>();
+        private final Map<String, List<GameSuggestion>> memoized = new ConcurrentHashMap<>();
+        // Odd while a write is in progress, bumped again once it is complete
+        private volatile long generation;
+        private int longestMemoizedPrefix;
+
+        int size() {
+            return entriesByAppId.size();
+        }
+
+        void put(Game game) {
+            generation++;
+            try {
+                putEntry(game);
+            } finally {
+                generation++;
+            }
+        }
+
+        void remove(Integer appId) {
+            generation++;
+            try {
+                removeEntry(appId);
+            } finally {
+                generation++;
+            }
+        }
+
+        void removeById(String id) {
+            Integer appId = id != null ? appIdsById.get(id) : null;
+            if (appId != null) {
+                remove(appId);
+            }
+        }
+
+        private void putEntry(Game game) {
+            if (game.getAppId() == null) {
+                return;
+            }
+            Integer previousAppId = game.getId() != null ? appIdsById.get(game.getId()) : null;
+            if (previousAppId != null && !previousAppId.equals(game.getAppId())) {
+                removeEntry(previousAppId);
+            }
+            GameSuggestion previous = entriesByAppId.get(game.getAppId());
+            String name = game.getName() != null ? game.getName() : previous != null ? previous.getName() : null;
+            if (name == null) {
+                return;
+            }
+            int recommendations = game.getRecommendations() != null && game.getRecommendations().getTotal() != null
+                    ? game.getRecommendations().getTotal()
+                    : previous != null ? previous.getRecommendations() : 0;
+
+            if (previous != null) {
+                unlink(previous);
+            }
+            GameSuggestion entry = new GameSuggestion(game.getAppId(), name, recommendations);
+            entriesByAppId.put(entry.getAppId(), entry);
+            if (game.getId() != null) {
+                appIdsById.put(game.getId(), game.getAppId());
+                idsByAppId.put(game.getAppId(), game.getId());
+            }
+            for (String key : keysOf(entry)) {
+                entriesByKey.put(key, entry);
+                evictMemoized(key);
+            }
+        }
+
+        private void removeEntry(Integer appId) {
+            GameSuggestion previous = entriesByAppId.remove(appId);
+            if (previous != null) {
+                unlink(previous);
+            }
+            String id = idsByAppId.remove(appId);
+            if (id != null) {
+                appIdsById.remove(id);
+            }
+        }
+
+        private void unlink(GameSuggestion entry) {
+            for (String key : keysOf(entry)) {
+                entriesByKey.remove(key);
+                evictMemoized(key);
+            }
+        }
+
+        private void evictMemoized(String key) {
+            int longest = Math.min(longestMemoizedPrefix, key.length());
+            for (int length = 1; length <= longest; length++) {
+                memoized.remove(key.substring(0, length));
+            }
+        }
+
+        Scan topMatches(String prefix, int limit) {
+            PriorityQueue<GameSuggestion> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            Set<Integer> seenAppIds = new HashSet<>();
+            int visited = 0;
+
+            for (GameSuggestion entry : entriesByKey.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                visited++;
+                if (!seenAppIds.add(entry.getAppId())) {
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<GameSuggestion> results = new ArrayList<>(top);
+            results.sort(RANKING);
+            return new Scan(List.copyOf(results), visited);
+        }
+    }
+
+    private static List<String> keysOf(GameSuggestion entry) {
+        String name = normalize(entry.getName());
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        while (start < name.length()) {
+            keys.add(name.substring(start) + KEY_SEPARATOR + entry.getAppId());
+            int nextSpace = name.indexOf(' ', start);
+            if (nextSpace < 0) {
+                break;
+            }
+            start = nextSpace + 1;
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
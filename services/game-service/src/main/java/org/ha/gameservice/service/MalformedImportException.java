@@ -0,0 +1,21 @@
+package org.ha.gameservice.service;
+
+import lombok.Getter;
+import org.ha.gameservice.dto.BulkImportResult;
+
+/**
+ * Thrown when an import stream stops parsing part way through. Every record before
+ * the failing line has already been written and is reported in {@link #getResult()}.
+ */
+@Getter
+public class MalformedImportException extends IllegalArgumentException {
+
+    private final long line;
+    private final transient BulkImportResult result;
+
+    public MalformedImportException(String message, long line, BulkImportResult result, Throwable cause) {
+        super(message, cause);
+        this.line = line;
+        this.result = result;
+    }
+}
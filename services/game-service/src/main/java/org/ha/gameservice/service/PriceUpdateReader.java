@@ -0,0 +1,173 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.ha.gameservice.dto.PriceUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads bulk price updates from CSV (with a header row naming the columns) or NDJSON.
+ * Every row is validated before anything is written, so a malformed upload is rejected
+ * as a whole instead of half-applying a sale.
+ */
+@Component
+public class PriceUpdateReader {
+
+    private static final Map<String, BiConsumer<PriceUpdate, String>> CSV_COLUMNS = Map.of(
+            "appid", (row, value) -> row.setAppId(parseInteger(value)),
+            "finalprice", (row, value) -> row.setFinalPrice(parseInteger(value)),
+            "final", (row, value) -> row.setFinalPrice(parseInteger(value)),
+            "initial", (row, value) -> row.setInitial(parseInteger(value)),
+            "discountpercent", (row, value) -> row.setDiscountPercent(parseInteger(value)),
+            "currency", (row, value) -> row.setCurrency(emptyToNull(value)),
+            "finalformatted", (row, value) -> row.setFinalFormatted(emptyToNull(value)),
+            "initialformatted", (row, value) -> row.setInitialFormatted(emptyToNull(value)));
+
+    private final ObjectReader priceReader;
+    private final int maxRows;
+
+    public PriceUpdateReader(ObjectMapper objectMapper,
+                             @Value("${game.prices.max-rows:200000}") int maxRows) {
+        this.priceReader = objectMapper.readerFor(PriceUpdate.class);
+        this.maxRows = maxRows;
+    }
+
+    public List<PriceUpdate> readCsv(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV price update must start with a header row");
+        }
+
+        List<BiConsumer<PriceUpdate, String>> setters = new ArrayList<>();
+        for (String column : splitCsvLine(header, 1)) {
+            BiConsumer<PriceUpdate, String> setter = CSV_COLUMNS.get(column.trim().toLowerCase(Locale.ROOT));
+            if (setter == null) {
+                throw new IllegalArgumentException("Unknown price update column: " + column);
+            }
+            setters.add(setter);
+        }
+
+        List<PriceUpdate> rows = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line, lineNumber);
+            if (values.size() != setters.size()) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has " + values.size()
+                        + " columns, expected " + setters.size());
+            }
+
+            PriceUpdate row = new PriceUpdate();
+            try {
+                for (int i = 0; i < values.size(); i++) {
+                    setters.get(i).accept(row, values.get(i).trim());
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has an invalid number: " + e.getMessage());
+            }
+            add(rows, row, lineNumber);
+        }
+        return rows;
+    }
+
+    public List<PriceUpdate> readNdjson(InputStream inputStream) throws IOException {
+        List<PriceUpdate> rows = new ArrayList<>();
+        try (MappingIterator<PriceUpdate> records = priceReader.readValues(inputStream)) {
+            int lineNumber = 0;
+            while (true) {
+                lineNumber++;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    add(rows, records.nextValue(), lineNumber);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed NDJSON price update at record " + lineNumber
+                            + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void add(List<PriceUpdate> rows, PriceUpdate row, int lineNumber) {
+        validate(row, lineNumber);
+        if (rows.size() == maxRows) {
+            throw new IllegalArgumentException("Price update exceeds " + maxRows + " rows");
+        }
+        rows.add(row);
+    }
+
+    private static void validate(PriceUpdate row, int lineNumber) {
+        if (row.getAppId() == null || row.getAppId() <= 0) {
+            throw new IllegalArgumentException("Row " + lineNumber + " needs a positive appId");
+        }
+        if (row.getFinalPrice() == null || row.getFinalPrice() < 0) {
+            throw new IllegalArgumentException("Row " + lineNumber + " needs a non-negative finalPrice");
+        }
+        if (row.getInitial() != null && row.getInitial() < 0) {
+            throw new IllegalArgumentException("Row " + lineNumber + " has a negative initial price");
+        }
+        if (row.getDiscountPercent() != null && (row.getDiscountPercent() < 0 || row.getDiscountPercent() > 100)) {
+            throw new IllegalArgumentException("Row " + lineNumber + " has a discountPercent outside 0-100");
+        }
+    }
+
+    // Splits one CSV record; fields may be quoted, with "" standing for a literal quote
+    private static List<String> splitCsvLine(String line, int lineNumber) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Line " + lineNumber + " has an unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static Integer parseInteger(String value) {
+        return value.isEmpty() ? null : Integer.valueOf(value);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
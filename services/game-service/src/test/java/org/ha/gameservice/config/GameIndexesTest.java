@@ -0,0 +1,62 @@
+package org.ha.gameservice.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameIndexesTest {
+
+    private final List<List<String>> indexKeys = GameIndexes.definitions().stream()
+            .map(IndexDefinition::getIndexKeys)
+            .map(keys -> List.copyOf(keys.keySet()))
+            .toList();
+
+    @Test
+    void everySortedQueryHasAnIndexWithItsFilterThenSortFields() {
+        for (Map.Entry<String, Query> registered : GameIndexes.registeredQueries().entrySet()) {
+            Query query = registered.getValue();
+            if (query.getSortObject().isEmpty()) {
+                continue;
+            }
+            List<String> sortFields = List.copyOf(query.getSortObject().keySet());
+            Set<String> filterFields = new LinkedHashSet<>();
+            collectFields(query.getQueryObject(), filterFields);
+            sortFields.forEach(filterFields::remove);
+
+            List<String> expected = new ArrayList<>(filterFields);
+            expected.addAll(sortFields);
+            assertThat(indexKeys)
+                    .as("index for registered query '%s'", registered.getKey())
+                    .anySatisfy(keys -> assertThat(keys).startsWith(expected.toArray(String[]::new)));
+        }
+    }
+
+    @Test
+    void browseQueriesAreRegisteredWithTheirSort() {
+        Map<String, Query> queries = GameIndexes.registeredQueries();
+
+        for (String name : List.of("findByType", "findByIsFree", "findByGenre", "findByCategory",
+                "findWindowsGames", "findMacGames", "findLinuxGames", "findByPriceRange")) {
+            assertThat(queries.get(name).getSortObject()).as(name).isNotEmpty();
+        }
+    }
+
+    private static void collectFields(Document query, Set<String> fields) {
+        query.forEach((key, value) -> {
+            if ("$and".equals(key) && value instanceof List<?> conditions) {
+                conditions.forEach(condition -> collectFields((Document) condition, fields));
+            } else {
+                fields.add(key);
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package org.ha.gameservice.dto;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        ObjectId lastId = new ObjectId();
+        GameCursor cursor = new GameCursor(GameCursor.SortKey.ID, Sort.Direction.DESC, lastId);
+
+        GameCursor decoded = GameCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSortKey()).isEqualTo(GameCursor.SortKey.ID);
+        assertThat(decoded.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(decoded.getLastValue()).isEqualTo(lastId);
+    }
+
+    @Test
+    void appIdCursorRoundTrips() {
+        GameCursor cursor = new GameCursor(GameCursor.SortKey.APP_ID, Sort.Direction.ASC, 730);
+
+        GameCursor decoded = GameCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSortKey()).isEqualTo(GameCursor.SortKey.APP_ID);
+        assertThat(decoded.getDirection()).isEqualTo(Sort.Direction.ASC);
+        assertThat(decoded.getLastValue()).isEqualTo(730);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new GameCursor(GameCursor.SortKey.ID, Sort.Direction.ASC, new ObjectId()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        assertThatThrownBy(() -> GameCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameCursor.decode(token("APP_ID:ASC:" + new ObjectId())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameCursor.decode(token("ID:ASC:730")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameCursor.decode(token("NAME:ASC:730")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameCursor.decode(token("APP_ID:SIDEWAYS:730")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameCursor.decode(token("APP_ID")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortKeyAcceptsOnlyWhitelistedProperties() {
+        assertThat(GameCursor.SortKey.from(null)).isEqualTo(GameCursor.SortKey.ID);
+        assertThat(GameCursor.SortKey.from(" APPID ")).isEqualTo(GameCursor.SortKey.APP_ID);
+        assertThatThrownBy(() -> GameCursor.SortKey.from("name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("name");
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,26 @@
+package org.ha.gameservice.service;
+
+import org.ha.gameservice.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GameBrowseServiceTest {
+
+    private final GameBrowseService browseService = new GameBrowseService(mock(GameRepository.class));
+
+    @Test
+    void nonUniqueSortIsBrokenByAppId() {
+        assertThat(browseService.sort("price", "desc")).containsExactly(
+                Sort.Order.desc("priceOverview.finalPrice"), Sort.Order.asc("appId"));
+        assertThat(browseService.sort("name", null)).containsExactly(
+                Sort.Order.asc("name"), Sort.Order.asc("appId"));
+    }
+
+    @Test
+    void appIdSortNeedsNoTiebreaker() {
+        assertThat(browseService.sort("appId", "desc")).containsExactly(Sort.Order.desc("appId"));
+    }
+}
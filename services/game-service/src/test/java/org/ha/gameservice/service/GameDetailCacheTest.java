@@ -0,0 +1,62 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ha.gameservice.entity.Game;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameDetailCacheTest {
+
+    private final GameDetailCache cache = new GameDetailCache(new ObjectMapper(), DataSize.ofMegabytes(1), 1000,
+            Duration.ofMinutes(10), true, DataSize.ofKilobytes(1));
+
+    @Test
+    void appIdMissIsCachedUnderItsId() {
+        Game game = game("g1", 10, "Portal");
+
+        assertThat(cache.getByAppId(10, () -> game)).isSameAs(game);
+        assertThat(cache.peekById("g1")).isSameAs(game);
+        assertThat(cache.peekByAppId(10)).isSameAs(game);
+
+        cache.invalidateAppId(10);
+        assertThat(cache.peekById("g1")).isNull();
+    }
+
+    @Test
+    void invalidationDuringAppIdLoadKeepsTheLoadOutOfTheCache() {
+        Game stale = game("g1", 10, "Portal");
+
+        Game served = cache.getByAppId(10, () -> {
+            // A concurrent update commits and invalidates after this document was read
+            cache.invalidate("g1");
+            return stale;
+        });
+
+        assertThat(served).isSameAs(stale);
+        assertThat(cache.peekById("g1")).isNull();
+        Game fresh = game("g1", 10, "Portal 2");
+        assertThat(cache.getByAppId(10, () -> fresh)).isSameAs(fresh);
+    }
+
+    @Test
+    void invalidationDuringIdLoadIsNotLost() throws Exception {
+        Game stale = game("g1", 10, "Portal");
+        Thread writer = new Thread(() -> cache.invalidate("g1"));
+
+        cache.getById("g1", () -> {
+            writer.start();
+            return stale;
+        });
+        writer.join();
+
+        assertThat(cache.peekById("g1")).isNull();
+    }
+
+    private static Game game(String id, int appId, String name) {
+        return Game.builder().id(id).appId(appId).name(name).build();
+    }
+}
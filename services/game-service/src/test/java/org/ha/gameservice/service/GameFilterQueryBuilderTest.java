@@ -0,0 +1,80 @@
+package org.ha.gameservice.service;
+
+import org.bson.Document;
+import org.ha.commons.dto.request.FilterRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameFilterQueryBuilderTest {
+
+    private final GameFilterQueryBuilder builder = new GameFilterQueryBuilder();
+
+    @Test
+    void whitelistedFieldIsMappedToItsPropertyWithTypedValue() {
+        Document query = builder.build(filters("price", "lte", "999")).getCriteriaObject();
+
+        List<Object> conditions = query.getList("$and", Object.class);
+        assertThat(conditions).containsExactly(
+                new Document("priceOverview.finalPrice", new Document("$lte", 999)));
+    }
+
+    @Test
+    void unknownAndRawPropertyFieldsAreRejected() {
+        for (String field : List.of("$where", "password", "priceOverview.finalPrice", "genres.description")) {
+            assertThatThrownBy(() -> builder.build(filters(field, "eq", "x")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unsupported filter field");
+        }
+        assertThatThrownBy(() -> builder.build(filters(null, "eq", "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownOperatorsAreRejected() {
+        for (String operator : List.of("$where", "regex", "exists", "")) {
+            assertThatThrownBy(() -> builder.build(filters("name", operator, "x")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unsupported filter operator");
+        }
+    }
+
+    @Test
+    void likeIsOnlyAllowedOnTextFieldsAndMatchesLiterally() {
+        assertThatThrownBy(() -> builder.build(filters("price", "like", "9")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Document query = builder.build(filters("name", "LIKE", ".*")).getCriteriaObject();
+        Document condition = (Document) query.getList("$and", Object.class).get(0);
+        assertThat(condition.get("name", Pattern.class).pattern()).isEqualTo(Pattern.quote(".*"));
+    }
+
+    @Test
+    void nonNumericValueForNumericFieldIsRejected() {
+        assertThatThrownBy(() -> builder.build(filters("appId", "eq", "1 OR 1=1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("appId");
+    }
+
+    @Test
+    void normalizedKeyIgnoresOrderAndOperatorCase() {
+        FilterRequest first = filters("price", "LTE", "999");
+        first.addFilter("genre", "eq", "Action");
+        FilterRequest second = filters("genre", "EQ", "Action");
+        second.addFilter("price", "lte", "999");
+
+        assertThat(builder.normalizeKey(first)).isEqualTo(builder.normalizeKey(second));
+        assertThatThrownBy(() -> builder.normalizeKey(filters("$where", "eq", "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static FilterRequest filters(String field, String operator, Object value) {
+        FilterRequest request = new FilterRequest();
+        request.addFilter(field, operator, value);
+        return request;
+    }
+}
@@ -0,0 +1,78 @@
+package org.ha.gameservice.service;
+
+import org.bson.Document;
+import org.ha.commons.dto.request.FilterRequest;
+import org.ha.commons.dto.response.PageResponse;
+import org.ha.gameservice.dto.GameView;
+import org.ha.gameservice.entity.Game;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameFilterServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameCountService gameCountService = mock(GameCountService.class);
+    private final GameFilterService filterService =
+            new GameFilterService(mongoTemplate, new GameFilterQueryBuilder(), gameCountService);
+
+    @SuppressWarnings("unchecked")
+    private final ArgumentCaptor<TypedAggregation<Game>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+
+    GameFilterServiceTest() {
+        when(gameCountService.getCachedFilteredCount(anyString())).thenReturn(45L);
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("results", List.of())), new Document()));
+    }
+
+    @Test
+    void sortOnNonUniqueFieldIsBrokenByAppId() {
+        filterService.filter(new FilterRequest(), 1, 20, "price", "desc", GameView.SUMMARY, false);
+
+        assertThat(sortStage()).containsExactly(
+                entry("priceOverview.finalPrice", -1), entry("appId", 1));
+    }
+
+    @Test
+    void sortOnAppIdKeepsItsDirection() {
+        filterService.filter(new FilterRequest(), 1, 20, "appId", "desc", GameView.SUMMARY, false);
+
+        assertThat(sortStage()).containsExactly(entry("appId", -1));
+    }
+
+    @Test
+    void firstPageHasNoPreviousPage() {
+        PageResponse.PageMetadata first = filterService
+                .filter(new FilterRequest(), 1, 20, "appId", "asc", GameView.SUMMARY, false).getPagination();
+        PageResponse.PageMetadata last = filterService
+                .filter(new FilterRequest(), 3, 20, "appId", "asc", GameView.SUMMARY, false).getPagination();
+
+        assertThat(first.isHasPrevious()).isFalse();
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(last.isHasPrevious()).isTrue();
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    private Document sortStage() {
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Document.class));
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(1).get("$sort", Document.class);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, Object value) {
+        return Map.entry(key, value);
+    }
+}
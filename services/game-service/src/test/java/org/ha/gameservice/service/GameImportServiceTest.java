@@ -0,0 +1,91 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ha.gameservice.dto.BulkImportResult;
+import org.ha.gameservice.dto.ImportMode;
+import org.ha.gameservice.entity.Game;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameImportServiceTest {
+
+    private final GameService gameService = mock(GameService.class);
+    private final GameImportService importService =
+            new GameImportService(gameService, new ObjectMapper().findAndRegisterModules(), 2);
+
+    GameImportServiceTest() {
+        when(gameService.createGames(anyList())).thenAnswer(invocation -> {
+            List<Game> batch = invocation.getArgument(0);
+            return BulkImportResult.builder().requested(batch.size()).inserted(batch.size()).build();
+        });
+    }
+
+    @Test
+    void importsEveryRecord() throws Exception {
+        BulkImportResult result = importService.importNdjson(ndjson(
+                "{\"appId\":1,\"name\":\"a\"}",
+                "{\"appId\":2,\"name\":\"b\"}",
+                "{\"appId\":3,\"name\":\"c\"}"), false, ImportMode.INSERT);
+
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getInserted()).isEqualTo(3);
+    }
+
+    @Test
+    void mappingErrorReportsLineAndKeepsEarlierRecords() {
+        MalformedImportException e = catchThrowableOfType(MalformedImportException.class, () ->
+                importService.importNdjson(ndjson(
+                        "{\"appId\":1,\"name\":\"a\"}",
+                        "{\"appId\":2,\"name\":\"b\"}",
+                        "{\"appId\":3,\"name\":\"c\"}",
+                        "{\"appId\":\"not a number\",\"name\":\"d\"}",
+                        "{\"appId\":5,\"name\":\"e\"}"), false, ImportMode.INSERT));
+
+        assertThat(e).isNotNull();
+        assertThat(e.getLine()).isEqualTo(4);
+        assertThat(e.getResult().getRequested()).isEqualTo(3);
+        assertThat(e.getResult().getInserted()).isEqualTo(3);
+    }
+
+    @Test
+    void syntaxErrorReportsLine() {
+        MalformedImportException e = catchThrowableOfType(MalformedImportException.class, () ->
+                importService.importNdjson(ndjson(
+                        "{\"appId\":1,\"name\":\"a\"}",
+                        "{\"appId\":2,"), false, ImportMode.INSERT));
+
+        assertThat(e).isNotNull();
+        assertThat(e.getLine()).isEqualTo(2);
+        assertThat(e.getResult().getRequested()).isEqualTo(1);
+    }
+
+    @Test
+    void uncompressedBodyMarkedAsGzipIsMalformed() {
+        MalformedImportException e = catchThrowableOfType(MalformedImportException.class, () ->
+                importService.importNdjson(ndjson("{\"appId\":1,\"name\":\"a\"}"), true, ImportMode.INSERT));
+
+        assertThat(e).isNotNull();
+        assertThat(e.getResult().getRequested()).isZero();
+    }
+
+    @Test
+    void emptyBodyMarkedAsGzipIsMalformed() {
+        MalformedImportException e = catchThrowableOfType(MalformedImportException.class, () ->
+                importService.importNdjson(new ByteArrayInputStream(new byte[0]), true, ImportMode.INSERT));
+
+        assertThat(e).isNotNull();
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
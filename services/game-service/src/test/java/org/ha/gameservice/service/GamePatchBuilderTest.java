@@ -0,0 +1,91 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.ha.gameservice.repository.GameDetailsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class GamePatchBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GamePatchBuilder builder = new GamePatchBuilder(objectMapper,
+            new GameDetailsService(mock(GameDetailsRepository.class), mock(MongoTemplate.class), true));
+
+    @Test
+    void nestedObjectsAreMergedPathByPath() throws Exception {
+        GamePatchBuilder.GamePatch patch = builder.build(json(
+                "{\"priceOverview\":{\"finalPrice\":499,\"discountPercent\":null},\"tags\":{\"indie\":12}}"));
+
+        Document update = patch.update().getUpdateObject();
+        assertThat(update.get("$set", Document.class))
+                .containsEntry("priceOverview.finalPrice", 499)
+                .containsEntry("tags.indie", 12);
+        assertThat(update.get("$unset", Document.class)).containsKey("priceOverview.discountPercent");
+        assertThat(patch.fields()).containsExactly("priceOverview", "tags");
+    }
+
+    @Test
+    void optionalFieldCanBeRemoved() throws Exception {
+        GamePatchBuilder.GamePatch patch = builder.build(json("{\"website\":null}"));
+
+        assertThat(patch.update().getUpdateObject().get("$unset", Document.class)).containsKey("website");
+    }
+
+    @Test
+    void requiredFieldsCannotBeNulled() {
+        for (String field : List.of("name", "type", "isFree", "shortDescription", "detailedDescription")) {
+            assertThatThrownBy(() -> builder.build(json("{\"" + field + "\":null}")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Required field cannot be removed: " + field);
+        }
+    }
+
+    @Test
+    void requiredFieldsCanBeReplaced() throws Exception {
+        GamePatchBuilder.GamePatch patch = builder.build(json("{\"name\":\"Renamed\"}"));
+
+        assertThat(patch.update().getUpdateObject().get("$set", Document.class)).containsEntry("name", "Renamed");
+    }
+
+    @Test
+    void protectedAndUnknownFieldsAreRejected() {
+        for (String field : List.of("id", "appId", "version", "contentHash", "nameLower", "unknown", "$set")) {
+            assertThatThrownBy(() -> builder.build(json("{\"" + field + "\":1}")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Field cannot be patched");
+        }
+        assertThatThrownBy(() -> builder.build(json("{\"priceOverview\":{\"$inc\":1}}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.build(json("{\"tags\":{\"a.b\":1}}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void detailFieldsGoToTheDetailsUpdate() throws Exception {
+        GamePatchBuilder.GamePatch patch = builder.build(json("{\"aboutTheGame\":\"About\",\"name\":\"Game\"}"));
+
+        assertThat(patch.hasDetailChanges()).isTrue();
+        assertThat(patch.detailsUpdate().getUpdateObject().get("$set", Document.class))
+                .containsOnlyKeys("aboutTheGame");
+        assertThat(patch.update().getUpdateObject().get("$set", Document.class)).containsOnlyKeys("name");
+    }
+
+    @Test
+    void emptyOrNonObjectPatchIsRejected() {
+        assertThatThrownBy(() -> builder.build(json("{}"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.build(json("[]"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.build(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return objectMapper.readTree(value);
+    }
+}
@@ -0,0 +1,95 @@
+package org.ha.gameservice.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.ha.gameservice.dto.BulkImportResult;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameServiceBulkInsertTest {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int DOCUMENT_VALIDATION_FAILURE = 121;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final GameSuggestService gameSuggestService = mock(GameSuggestService.class);
+    private final GameDetailsService gameDetailsService = mock(GameDetailsService.class);
+    private final GameService gameService = new GameService(
+            mock(GameRepository.class), mongoTemplate, mock(GameCountService.class), mock(GameContentHasher.class),
+            gameSuggestService, mock(GameDetailCache.class), mock(GameStatisticsService.class),
+            gameDetailsService, mock(GamePatchBuilder.class));
+
+    private final List<Game> inserted = new ArrayList<>();
+
+    GameServiceBulkInsertTest() {
+        ReflectionTestUtils.setField(gameService, "bulkChunkSize", 1000);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Game.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            return bulkOperations;
+        });
+    }
+
+    @Test
+    void existingAndRepeatedAppIdsAreSkippedBeforeWriting() {
+        when(mongoTemplate.find(any(Query.class), eq(Game.class))).thenReturn(List.of(game(1)));
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+
+        BulkImportResult result = gameService.createGames(List.of(game(1), game(2), game(2), game(null)));
+
+        assertThat(inserted).extracting(Game::getAppId).containsExactly(2);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getSkippedAppIds()).containsExactly(1, 2);
+        assertThat(result.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedWritesAreClassifiedByErrorCode() {
+        when(mongoTemplate.find(any(Query.class), eq(Game.class))).thenReturn(List.of());
+        BulkWriteResult writeResult = BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of());
+        MongoBulkWriteException source = new MongoBulkWriteException(writeResult, List.of(
+                new BulkWriteError(DUPLICATE_KEY, "duplicate key", new BsonDocument(), 0),
+                new BulkWriteError(DOCUMENT_VALIDATION_FAILURE, "validation failed", new BsonDocument(), 2)),
+                null, new ServerAddress(), Set.of());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("bulk write failed", source));
+
+        BulkImportResult result = gameService.createGames(List.of(game(10), game(11), game(12)));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getSkippedAppIds()).containsExactly(10);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getFailedAppIds()).containsExactly(12);
+        verify(gameSuggestService).index(inserted.get(1));
+        verify(gameSuggestService, never()).index(inserted.get(0));
+        verify(gameSuggestService, never()).index(inserted.get(2));
+    }
+
+    private static Game game(Integer appId) {
+        return Game.builder().appId(appId).name("game " + appId).build();
+    }
+}
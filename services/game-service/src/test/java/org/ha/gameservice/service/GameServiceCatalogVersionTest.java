@@ -0,0 +1,78 @@
+package org.ha.gameservice.service;
+
+import org.bson.Document;
+import org.ha.gameservice.dto.ResourceVersion;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.repository.GameDetailsRepository;
+import org.ha.gameservice.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameServiceCatalogVersionTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameCountService gameCountService = mock(GameCountService.class);
+    private final GameDetailsService gameDetailsService =
+            new GameDetailsService(mock(GameDetailsRepository.class), mongoTemplate, false);
+    private final GameService gameService = new GameService(
+            mock(GameRepository.class), mongoTemplate, gameCountService, mock(GameContentHasher.class),
+            mock(GameSuggestService.class), mock(GameDetailCache.class), mock(GameStatisticsService.class),
+            gameDetailsService, mock(GamePatchBuilder.class));
+
+    GameServiceCatalogVersionTest() {
+        when(gameCountService.getTotalCount()).thenReturn(100L);
+        when(mongoTemplate.findOne(any(Query.class), eq(Game.class)))
+                .thenReturn(Game.builder().updatedAt(new Date(1_000)).build());
+    }
+
+    @Test
+    void listingIsLastModifiedByTheLatestUpdateWithoutDeletes() {
+        ResourceVersion version = gameService.getCatalogVersion("/api/games");
+
+        assertThat(version.getLastModified()).isEqualTo(1_000);
+    }
+
+    @Test
+    void deleteAfterTheLatestUpdateAdvancesTheListingVersion() {
+        ResourceVersion before = gameService.getCatalogVersion("/api/games");
+        when(mongoTemplate.findById(any(), eq(Document.class), eq(GameService.CATALOG_COLLECTION)))
+                .thenReturn(new Document("lastDeletedAt", new Date(2_000)));
+
+        ResourceVersion after = gameService.getCatalogVersion("/api/games");
+
+        assertThat(after.getLastModified()).isEqualTo(2_000);
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+    }
+
+    @Test
+    void deleteRecordsItsTime() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Game.class)))
+                .thenReturn(Game.builder().id("1").appId(10).build());
+
+        gameService.deleteGameByAppId(10);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(GameService.CATALOG_COLLECTION));
+        assertThat(update.getValue().getUpdateObject().get("$max", Document.class)).containsKey("lastDeletedAt");
+    }
+
+    @Test
+    void deleteOfMissingGameRecordsNothing() {
+        gameService.deleteGameByAppId(10);
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(GameService.CATALOG_COLLECTION));
+    }
+}
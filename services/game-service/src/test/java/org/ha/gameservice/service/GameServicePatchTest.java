@@ -0,0 +1,92 @@
+package org.ha.gameservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.repository.GameDetailsRepository;
+import org.ha.gameservice.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GameServicePatchTest {
+
+    private static final String ID = "64b7f0c2e4b0a1a2b3c4d5e6";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final GameDetailCache gameDetailCache = mock(GameDetailCache.class);
+    private final GameDetailsService gameDetailsService =
+            new GameDetailsService(mock(GameDetailsRepository.class), mongoTemplate, false);
+    private final GameService gameService = new GameService(
+            gameRepository, mongoTemplate, mock(GameCountService.class), mock(GameContentHasher.class),
+            mock(GameSuggestService.class), gameDetailCache, mock(GameStatisticsService.class),
+            gameDetailsService, new GamePatchBuilder(objectMapper, gameDetailsService));
+
+    @Test
+    void matchingVersionIsPatchedAndBumped() throws Exception {
+        Game patched = Game.builder().id(ID).appId(10).name("Renamed").version(4L).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Game.class))).thenReturn(patched);
+
+        Game result = gameService.patchGame(ID, objectMapper.readTree("{\"name\":\"Renamed\"}"), 3L);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+                eq(Game.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("version", 3L);
+        Document operations = update.getValue().getUpdateObject();
+        assertThat(operations.get("$inc", Document.class)).containsEntry("version", 1);
+        assertThat(operations.get("$set", Document.class)).containsEntry("nameLower", "renamed");
+        assertThat(result).isSameAs(patched);
+        verify(gameDetailCache).invalidate(ID);
+    }
+
+    @Test
+    void staleVersionOfExistingGameIsAConflict() throws Exception {
+        when(gameRepository.existsById(ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> gameService.patchGame(ID, objectMapper.readTree("{\"name\":\"Renamed\"}"), 3L))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining("expected version 3");
+        verifyNoInteractions(gameDetailCache);
+    }
+
+    @Test
+    void missingGameIsNotAConflict() throws Exception {
+        when(gameRepository.existsById(ID)).thenReturn(false);
+
+        assertThatThrownBy(() -> gameService.patchGame(ID, objectMapper.readTree("{\"name\":\"Renamed\"}"), 3L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void versionZeroMatchesDocumentsWrittenBeforeVersioning() throws Exception {
+        when(gameRepository.existsById(ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> gameService.patchGame(ID, objectMapper.readTree("{\"name\":\"Renamed\"}"), 0L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Game.class));
+        assertThat(query.getValue().getQueryObject().get("version", Document.class).getList("$in", Object.class))
+                .containsExactly(0L, null);
+    }
+}
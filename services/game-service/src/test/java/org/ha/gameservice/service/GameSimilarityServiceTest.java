@@ -0,0 +1,96 @@
+package org.ha.gameservice.service;
+
+import org.ha.gameservice.dto.SimilarityRebuildReport;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.entity.GameNeighbours;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameSimilarityServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final Map<Integer, GameNeighbours> stored = new HashMap<>();
+
+    GameSimilarityServiceTest() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(GameNeighbours.class)))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.replaceOne(any(Query.class), any(), any(FindAndReplaceOptions.class)))
+                .thenAnswer(invocation -> {
+                    GameNeighbours neighbours = invocation.getArgument(1);
+                    stored.put(neighbours.getAppId(), neighbours);
+                    return bulkOperations;
+                });
+        // Developers 1-10 are shared by the similar games; 100+ only by the unrelated one
+        when(mongoTemplate.stream(any(Query.class), eq(Game.class))).thenAnswer(invocation -> Stream.of(
+                game(1, developers(1, 10)),
+                game(2, developers(1, 10)),
+                game(3, developers(1, 10)),
+                game(4, developers(1, 9), "Other"),
+                game(5, developers(100, 110)),
+                game(6)));
+    }
+
+    @Test
+    void neighboursAreRankedByJaccardSimilarity() {
+        SimilarityRebuildReport report = service(20).rebuild();
+
+        assertThat(report.getGames()).isEqualTo(5);
+        assertThat(report.getStored()).isEqualTo(5);
+        GameNeighbours first = stored.get(1);
+        assertThat(first.getNeighbours()).containsExactly(2, 3, 4);
+        assertThat(first.getScores().get(0)).isEqualTo(1.0f);
+        assertThat(first.getScores().get(1)).isEqualTo(1.0f);
+        // 9 shared developers out of 11 distinct ones
+        assertThat(first.getScores().get(2)).isCloseTo(9f / 11, within(1e-6f));
+    }
+
+    @Test
+    void gamesWithoutSharedFeaturesHaveNoNeighbours() {
+        service(20).rebuild();
+
+        assertThat(stored.get(5).getNeighbours()).isEmpty();
+        assertThat(stored).doesNotContainKey(6);
+    }
+
+    @Test
+    void neighbourCountKeepsTheBestWithLowerAppIdsOnTies() {
+        service(1).rebuild();
+
+        assertThat(stored.get(1).getNeighbours()).containsExactly(2);
+        assertThat(stored.get(3).getNeighbours()).containsExactly(1);
+        assertThat(stored.get(4).getNeighbours()).containsExactly(1);
+    }
+
+    private GameSimilarityService service(int neighbourCount) {
+        return new GameSimilarityService(mongoTemplate, neighbourCount, 1000, 1000, false);
+    }
+
+    private static List<String> developers(int from, int to) {
+        return IntStream.rangeClosed(from, to).mapToObj(i -> "Developer " + i).toList();
+    }
+
+    private static Game game(int appId, List<String> developers, String... publishers) {
+        return Game.builder().appId(appId).developers(developers).publishers(List.of(publishers)).build();
+    }
+
+    private static Game game(int appId) {
+        return Game.builder().appId(appId).build();
+    }
+}
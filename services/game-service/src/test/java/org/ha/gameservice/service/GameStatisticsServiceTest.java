@@ -0,0 +1,105 @@
+package org.ha.gameservice.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameStatisticsServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameStatisticsService statisticsService = new GameStatisticsService(mongoTemplate, Duration.ofMinutes(1));
+    private final AtomicInteger aggregations = new AtomicInteger();
+    private Runnable duringAggregation = () -> {
+    };
+    private Date storedComputedAt = new Date();
+
+    GameStatisticsServiceTest() {
+        when(mongoTemplate.getCollectionName(any())).thenReturn("games");
+        when(mongoTemplate.aggregate(any(Aggregation.class), anyString(), eq(Document.class))).thenAnswer(invocation -> {
+            // The merged snapshot is stamped before the aggregation reads the collection
+            aggregations.incrementAndGet();
+            storedComputedAt = new Date();
+            duringAggregation.run();
+            return null;
+        });
+        when(mongoTemplate.findById(any(), eq(Document.class), eq(GameStatisticsService.STATS_COLLECTION)))
+                .thenAnswer(invocation -> new Document("computedAt", storedComputedAt));
+    }
+
+    @Test
+    void refreshClearsStaleness() {
+        statisticsService.refresh();
+
+        assertThat(statisticsService.isStale()).isFalse();
+    }
+
+    @Test
+    void changeDuringRefreshKeepsTheSnapshotStale() {
+        statisticsService.refresh();
+        sleep();
+        statisticsService.markStale();
+        duringAggregation = () -> {
+            sleep();
+            statisticsService.markStale();
+            sleep();
+        };
+
+        statisticsService.refreshIfStale();
+
+        assertThat(statisticsService.isStale()).isTrue();
+        duringAggregation = () -> {
+        };
+        sleep();
+        statisticsService.refreshIfStale();
+        assertThat(aggregations).hasValue(3);
+        assertThat(statisticsService.isStale()).isFalse();
+    }
+
+    @Test
+    void snapshotOlderThanTheNewestChangeIsNotAdopted() {
+        statisticsService.refresh();
+        sleep();
+        storedComputedAt = new Date();
+        sleep();
+        statisticsService.markStale();
+
+        statisticsService.refreshIfStale();
+
+        // The stored snapshot predates the change, so it is recomputed rather than adopted
+        assertThat(aggregations).hasValue(2);
+    }
+
+    @Test
+    void newerSnapshotFromAnotherInstanceIsAdopted() {
+        statisticsService.refresh();
+        sleep();
+        statisticsService.markStale();
+        sleep();
+        storedComputedAt = new Date();
+
+        statisticsService.refreshIfStale();
+
+        assertThat(aggregations).hasValue(1);
+        assertThat(statisticsService.isStale()).isFalse();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.ha.gameservice.service;
+
+import org.ha.gameservice.dto.GameSuggestion;
+import org.ha.gameservice.entity.Game;
+import org.ha.gameservice.event.GameChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class GameSuggestServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameSuggestService suggestService = new GameSuggestService(mongoTemplate);
+
+    @Test
+    void ranksWordStartMatchesByRecommendations() {
+        suggestService.index(game("1", 1, "Half-Life", 100));
+        suggestService.index(game("2", 2, "Life is Strange", 500));
+        suggestService.index(game("3", 3, "Portal", 900));
+
+        assertThat(appIds(suggestService.suggest("li", 10))).containsExactly(2);
+        assertThat(appIds(suggestService.suggest("life", 10))).containsExactly(2);
+        assertThat(appIds(suggestService.suggest("half", 10))).containsExactly(1);
+        assertThat(appIds(suggestService.suggest("  PORT ", 10))).containsExactly(3);
+    }
+
+    @Test
+    void memoizedPrefixIsDroppedWhenAGameUnderItChanges() {
+        IntStream.range(0, GameSuggestService.MEMOIZED_SCAN_SIZE + 1)
+                .forEach(i -> suggestService.index(game("id" + i, i + 1, "Game " + i, i)));
+
+        assertThat(appIds(suggestService.suggest("g", 1))).containsExactly(GameSuggestService.MEMOIZED_SCAN_SIZE + 1);
+        assertThat(suggestService.isMemoized("g")).isTrue();
+
+        suggestService.index(game("top", 10_000, "Galaxy", 1_000_000));
+        assertThat(suggestService.isMemoized("g")).isFalse();
+        assertThat(appIds(suggestService.suggest("g", 1))).containsExactly(10_000);
+
+        suggestService.remove(10_000);
+        assertThat(appIds(suggestService.suggest("g", 1))).containsExactly(GameSuggestService.MEMOIZED_SCAN_SIZE + 1);
+    }
+
+    @Test
+    void renameMovesTheEntry() {
+        suggestService.index(game("1", 1, "Old Name", 10));
+        suggestService.index(game("1", 1, "New Name", null));
+
+        assertThat(suggestService.suggest("old", 10)).isEmpty();
+        List<GameSuggestion> renamed = suggestService.suggest("new", 10);
+        assertThat(appIds(renamed)).containsExactly(1);
+        assertThat(renamed.get(0).getRecommendations()).isEqualTo(10);
+    }
+
+    @Test
+    void rebuildSwapsInANewIndexAndReplaysConcurrentWrites() {
+        suggestService.index(game("1", 1, "Stale", 10));
+        when(mongoTemplate.stream(any(Query.class), eq(Game.class))).thenAnswer(invocation -> {
+            // Written while the rebuild is still reading the collection
+            suggestService.index(game("3", 3, "Written During Rebuild", 30));
+            return Stream.of(game("2", 2, "Fresh", 20));
+        });
+
+        suggestService.onGameChanged(GameChangedEvent.all());
+
+        assertThat(suggestService.suggest("stale", 10)).isEmpty();
+        assertThat(appIds(suggestService.suggest("fresh", 10))).containsExactly(2);
+        assertThat(appIds(suggestService.suggest("written", 10))).containsExactly(3);
+    }
+
+    @Test
+    void largeRangeIsScannedOnceBetweenWrites() {
+        // Common first words make even long prefixes cover most of the catalog
+        IntStream.range(0, 100_000).forEach(i -> suggestService.index(game("id" + i, i + 1, "The Game " + i, i % 1000)));
+
+        suggestService.suggest("the game", 10);
+        assertThat(suggestService.isMemoized("the game")).isTrue();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            suggestService.suggest("the game", 10);
+        }
+        long averageNanos = (System.nanoTime() - startTime) / 10_000;
+        assertThat(averageNanos).isLessThan(100_000);
+    }
+
+    @Test
+    void scanOverlappingAWriteIsNotMemoized() throws Exception {
+        IntStream.range(0, GameSuggestService.MEMOIZED_SCAN_SIZE + 1)
+                .forEach(i -> suggestService.index(game("id" + i, i + 1, "Game " + i, i)));
+        suggestService.index(game("top", 10_000, "Galaxy", 1_000_000));
+
+        // Parks the writer after the old entry is unlinked and before the new one is linked
+        CountDownLatch unlinked = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        Game update = spy(game("top", 10_000, "Galaxy", 2_000_000));
+        AtomicInteger idReads = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (idReads.incrementAndGet() == 3) {
+                unlinked.countDown();
+                resume.await();
+            }
+            return invocation.callRealMethod();
+        }).when(update).getId();
+        Thread writer = new Thread(() -> suggestService.index(update));
+        writer.start();
+        unlinked.await();
+
+        // The scan misses the game and then waits for the writer's lock to memoize its result
+        Thread reader = new Thread(() -> suggestService.suggest("g", 1));
+        reader.start();
+        while (reader.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        resume.countDown();
+        writer.join();
+        reader.join();
+
+        assertThat(suggestService.isMemoized("g")).isFalse();
+        assertThat(appIds(suggestService.suggest("g", 1))).containsExactly(10_000);
+    }
+
+    private static List<Integer> appIds(List<GameSuggestion> suggestions) {
+        return suggestions.stream().map(GameSuggestion::getAppId).toList();
+    }
+
+    private static Game game(String id, int appId, String name, Integer recommendations) {
+        return Game.builder()
+                .id(id)
+                .appId(appId)
+                .name(name)
+                .recommendations(recommendations != null ? new Game.Recommendations(recommendations) : null)
+                .build();
+    }
+}
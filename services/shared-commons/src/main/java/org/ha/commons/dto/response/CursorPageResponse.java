@@ -0,0 +1,52 @@
+package org.ha.commons.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> extends ApiResponse {
+    private List<T> data;
+    private CursorMetadata pagination;
+
+    @Builder
+    public CursorPageResponse(List<T> data, CursorMetadata pagination) {
+        super(true);
+        this.data = data;
+        this.pagination = pagination;
+    }
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CursorMetadata {
+        private int size;             // Page size
+        private String nextCursor;    // Opaque token for the next page, null on the last page
+        private boolean hasNext;      // Has next page
+        private Long totalElements;   // Total items, only when requested
+    }
+
+    // Static factory method
+    public static <T> CursorPageResponse<T> of(
+            List<T> data,
+            int size,
+            String nextCursor,
+            Long totalElements) {
+
+        return CursorPageResponse.<T>builder()
+                .data(data)
+                .pagination(CursorMetadata.builder()
+                        .size(size)
+                        .nextCursor(nextCursor)
+                        .hasNext(nextCursor != null)
+                        .totalElements(totalElements)
+                        .build())
+                .build();
+    }
+}
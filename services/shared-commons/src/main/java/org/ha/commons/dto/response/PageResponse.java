@@ -24,13 +24,15 @@ public class PageResponse<T> extends ApiResponse {
 
     @Data
     @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class PageMetadata {
         private int page;           // Current page (0-indexed)
         private int size;           // Page size
-        private long totalElements; // Total items
-        private int totalPages;     // Total pages
+        private Long totalElements; // Total items, null when not counted
+        private Integer totalPages; // Total pages, null when not counted
         private boolean hasNext;    // Has next page
         private boolean hasPrevious; // Has previous page
+        private Boolean approximate; // True when totalElements is an estimate
     }
 
     // Static factory method
@@ -39,6 +41,15 @@ public class PageResponse<T> extends ApiResponse {
             int page,
             int size,
             long totalElements) {
+        return of(data, page, size, totalElements, false);
+    }
+
+    public static <T> PageResponse<T> of(
+            List<T> data,
+            int page,
+            int size,
+            long totalElements,
+            boolean approximate) {
 
         int totalPages = (int) Math.ceil((double) totalElements / size);
 
@@ -51,6 +62,26 @@ public class PageResponse<T> extends ApiResponse {
                         .totalPages(totalPages)
                         .hasNext(page < totalPages - 1)
                         .hasPrevious(page > 0)
+                        .approximate(approximate ? Boolean.TRUE : null)
+                        .build())
+                .build();
+    }
+
+    // Factory for slices, which know whether a next page exists but not the total
+    public static <T> PageResponse<T> ofSlice(
+            List<T> data,
+            int page,
+            int size,
+            boolean hasNext,
+            boolean hasPrevious) {
+
+        return PageResponse.<T>builder()
+                .data(data)
+                .pagination(PageMetadata.builder()
+                        .page(page)
+                        .size(size)
+                        .hasNext(hasNext)
+                        .hasPrevious(hasPrevious)
                         .build())
                 .build();
     }
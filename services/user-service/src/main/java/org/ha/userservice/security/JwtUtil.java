@@ -1,18 +1,27 @@
 package org.ha.userservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -28,14 +37,78 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    @Value("${jwt.parsed-cache-size:10000}")
+    private long parsedCacheSize;
+
+    // Key và parser được tạo một lần, dùng chung giữa các thread
+    @Getter(AccessLevel.NONE)
+    private SecretKey signingKey;
+
+    @Getter(AccessLevel.NONE)
+    private JwtParser jwtParser;
+
+    // Token đã xác thực gần đây, key là SHA-256 của token, hết hạn cùng với token
+    @Getter(AccessLevel.NONE)
+    private Cache<ByteBuffer, ParsedToken> parsedTokens;
+
     /**
-     * Khởi tạo SecretKey từ chuỗi bí mật, sử dụng chuẩn UTF-8
+     * Khởi tạo SecretKey, JwtParser và cache token đã xác thực
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        parsedTokens = Caffeine.newBuilder()
+                .maximumSize(parsedCacheSize)
+                .expireAfter(Expiry.creating((ByteBuffer key, ParsedToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAt() - System.currentTimeMillis()))))
+                .build();
+    }
+
+    /**
+     * Lấy SecretKey để ký JWT
      *
      * @return SecretKey để ký JWT
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Xác thực chữ ký và phân tích JWT. Token đã xác thực được lưu trong cache
+     * nên các lần gọi tiếp theo với cùng token không cần xác thực lại chữ ký
+     *
+     * @param token JWT
+     * @return ParsedToken chứa các claims của token
+     * @throws io.jsonwebtoken.JwtException nếu token không hợp lệ hoặc đã hết hạn
+     */
+    public ParsedToken parseToken(String token) {
+        ByteBuffer key = digest(token);
+        ParsedToken parsed = parsedTokens.getIfPresent(key);
+        if (parsed != null && !parsed.isExpired()) {
+            return parsed;
+        }
+
+        parsed = ParsedToken.of(jwtParser.parseSignedClaims(token).getPayload());
+        parsedTokens.put(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Phân tích JWT, trả về Optional rỗng nếu token không hợp lệ hoặc đã hết hạn
+     *
+     * @param token JWT
+     * @return ParsedToken nếu token hợp lệ
+     */
+    public Optional<ParsedToken> parseValidToken(String token) {
+        try {
+            return Optional.of(parseToken(token));
+        } catch (Exception e) {
+            log.error("Token validation failed: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     /**
@@ -45,7 +118,7 @@ public class JwtUtil {
      * @return Tên người dùng
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).subject();
     }
 
     /**
@@ -55,7 +128,7 @@ public class JwtUtil {
      * @return User ID
      */
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return parseToken(token).userId();
     }
 
     /**
@@ -65,16 +138,7 @@ public class JwtUtil {
      * @return Danh sách roles
      */
     public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> {
-            Object rolesObj = claims.get("roles");
-            if (rolesObj instanceof List<?> rawList) {
-                return rawList.stream()
-                        .filter(Objects::nonNull)
-                        .map(Object::toString)
-                        .collect(Collectors.toList());
-            }
-            return Collections.emptyList();
-        });
+        return parseToken(token).roles();
     }
 
     /**
@@ -210,8 +274,7 @@ public class JwtUtil {
      * @return true nếu JWT hợp lệ và khớp với tên người dùng, ngược lại false
      */
     public Boolean isTokenValid(String token, CustomUserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(token, userDetails.getUsername());
     }
 
     /**
@@ -222,8 +285,8 @@ public class JwtUtil {
      * @return true nếu JWT hợp lệ và khớp với tên người dùng, ngược lại false
      */
     public Boolean isTokenValid(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username)) && !isTokenExpired(token);
+        final ParsedToken parsed = parseToken(token);
+        return (parsed.subject().equals(username)) && !parsed.isExpired();
     }
 
     /**
@@ -248,7 +311,7 @@ public class JwtUtil {
      * @return true nếu JWT đã hết hạn, ngược lại false
      */
     private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parseToken(token).isExpired();
     }
 
     /**
@@ -258,7 +321,7 @@ public class JwtUtil {
      * @return Thời gian hết hạn
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parseToken(token).expirationDate();
     }
 
     /**
@@ -268,7 +331,7 @@ public class JwtUtil {
      * @return Thời gian tạo
      */
     public Date extractIssuedAt(String token) {
-        return extractClaim(token, Claims::getIssuedAt);
+        return parseToken(token).issuedAtDate();
     }
 
     /**
@@ -278,11 +341,22 @@ public class JwtUtil {
      * @return Claims chứa tất cả các thông tin trong JWT
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseToken(token).claims();
+    }
+
+    /**
+     * Tính SHA-256 của token để làm key cho cache, tránh giữ token gốc trong bộ nhớ
+     *
+     * @param token JWT
+     * @return Digest của token
+     */
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     /**
@@ -293,10 +367,7 @@ public class JwtUtil {
      */
     public long getTokenRemainingTime(String token) {
         try {
-            Date expiration = extractExpiration(token);
-            long currentTime = System.currentTimeMillis();
-            long expirationTime = expiration.getTime();
-            return Math.max(0, expirationTime - currentTime);
+            return Math.max(0, parseToken(token).expiresAt() - System.currentTimeMillis());
         } catch (Exception e) {
             log.error("Error getting token remaining time: {}", e.getMessage());
             return -1;
@@ -0,0 +1,69 @@
+package org.ha.userservice.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Kết quả bất biến của một JWT đã được xác thực chữ ký
+ *
+ * @param subject   Subject (username)
+ * @param userId    ID người dùng, null nếu token không chứa
+ * @param roles     Danh sách roles (không thể sửa đổi)
+ * @param issuedAt  Thời gian tạo (milliseconds)
+ * @param expiresAt Thời gian hết hạn (milliseconds)
+ * @param claims    Toàn bộ claims của token (bất biến)
+ */
+public record ParsedToken(
+        String subject,
+        String userId,
+        List<String> roles,
+        long issuedAt,
+        long expiresAt,
+        Claims claims
+) {
+
+    /**
+     * Tạo ParsedToken từ Claims đã được xác thực
+     *
+     * @param claims Claims của JWT
+     * @return ParsedToken
+     */
+    public static ParsedToken of(Claims claims) {
+        List<String> roles = Collections.emptyList();
+        if (claims.get("roles") instanceof List<?> rawList) {
+            roles = rawList.stream()
+                    .filter(Objects::nonNull)
+                    .map(Object::toString)
+                    .toList();
+        }
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                roles,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE,
+                claims
+        );
+    }
+
+    /**
+     * Kiểm tra xem token đã hết hạn hay chưa
+     *
+     * @return true nếu token đã hết hạn, ngược lại false
+     */
+    public boolean isExpired() {
+        return expiresAt <= System.currentTimeMillis();
+    }
+
+    public Date issuedAtDate() {
+        return new Date(issuedAt);
+    }
+
+    public Date expirationDate() {
+        return new Date(expiresAt);
+    }
+}
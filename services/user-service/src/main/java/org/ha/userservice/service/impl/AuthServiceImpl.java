@@ -12,6 +12,7 @@ import org.ha.userservice.model.entity.*;
 import org.ha.userservice.repository.*;
 import org.ha.userservice.security.CustomUserDetails;
 import org.ha.userservice.security.JwtUtil;
+import org.ha.userservice.security.ParsedToken;
 import org.ha.userservice.service.AuthService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -208,15 +209,16 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional
     public String refreshToken(String refreshToken) {
-        // validate refresh token
-        if (!jwtUtil.isTokenValid(refreshToken)) {
+        // validate refresh token once and read every claim from the result
+        ParsedToken parsedToken = jwtUtil.parseValidToken(refreshToken).orElse(null);
+        if (parsedToken == null) {
            return null;
         }
 
         // extract details from token
-        String username = jwtUtil.extractUsername(refreshToken);
-        String userId = jwtUtil.extractUserId(refreshToken);
-        List<String> roles = jwtUtil.extractRoles(refreshToken);
+        String username = parsedToken.subject();
+        String userId = parsedToken.userId();
+        List<String> roles = parsedToken.roles();
 
         // create new access token
         String newAccessToken = jwtUtil.generateToken(